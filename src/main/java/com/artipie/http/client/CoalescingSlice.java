@@ -0,0 +1,343 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice that coalesces identical concurrent GET and HEAD requests.
+ * Requests are identical if they have same method, URI and values of selected headers.
+ * Only one request is sent to origin slice for all identical requests
+ * which responses are sent before origin response begins, its body is streamed
+ * to all of them. Request joins a flight only when its response is sent,
+ * and origin request is sent when the first of them is sent,
+ * so responses which are never sent do not hold others.
+ * Other requests are passed to origin slice as is.
+ *
+ * @since 0.4
+ */
+public final class CoalescingSlice implements Slice {
+
+    /**
+     * Headers which make otherwise identical requests different by default:
+     * content negotiation, credentials, ranges and conditions, since responses
+     * to requests with different values of them may differ.
+     */
+    private static final List<String> HEADERS = Arrays.asList(
+        "Accept", "Accept-Encoding", "Accept-Language", "Authorization", "Cookie", "Range",
+        "If-Range", "If-None-Match", "If-Modified-Since", "If-Match", "If-Unmodified-Since"
+    );
+
+    /**
+     * Default max number of body chunks buffered for each request.
+     */
+    private static final int BUFFER = 128;
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Names of headers which values are part of request key.
+     */
+    private final Collection<String> headers;
+
+    /**
+     * Max number of body chunks buffered for each request.
+     */
+    private final int buffer;
+
+    /**
+     * Requests in flight by request key.
+     */
+    private final Map<String, Flight> flights;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     */
+    public CoalescingSlice(final Slice origin) {
+        this(origin, CoalescingSlice.HEADERS, CoalescingSlice.BUFFER);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param headers Names of headers which values are part of request key.
+     * @param buffer Max number of body chunks buffered for each request.
+     */
+    public CoalescingSlice(
+        final Slice origin, final Collection<String> headers, final int buffer
+    ) {
+        this.origin = origin;
+        this.headers = headers;
+        this.buffer = buffer;
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> rqheaders,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqMethod method = new RequestLineFrom(line).method();
+        final Response response;
+        if (method == RqMethod.GET || method == RqMethod.HEAD) {
+            final String key = this.key(line, rqheaders);
+            response = connection -> {
+                final AtomicBoolean created = new AtomicBoolean();
+                final Flight flight = this.flights.compute(
+                    key,
+                    (ignored, existing) -> {
+                        final Flight result;
+                        if (existing == null) {
+                            created.set(true);
+                            result = new Flight(this.buffer);
+                        } else {
+                            existing.join();
+                            result = existing;
+                        }
+                        return result;
+                    }
+                );
+                if (created.get()) {
+                    flight.start(
+                        this.origin.response(line, rqheaders, body),
+                        () -> this.flights.remove(key, flight)
+                    );
+                }
+                return flight.response().send(connection);
+            };
+        } else {
+            response = this.origin.response(line, rqheaders, body);
+        }
+        return response;
+    }
+
+    /**
+     * Build request key.
+     *
+     * @param line Request line.
+     * @param rqheaders Request headers.
+     * @return Request key.
+     */
+    private String key(final String line, final Iterable<Map.Entry<String, String>> rqheaders) {
+        final RequestLineFrom req = new RequestLineFrom(line);
+        final StringBuilder key = new StringBuilder()
+            .append(req.method().value())
+            .append(' ')
+            .append(req.uri());
+        for (final String name : this.headers) {
+            key.append('\n').append(name.toLowerCase()).append(':')
+                .append(String.join(",", new RqHeaders(rqheaders, name)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Request sent to origin on behalf of all identical requests.
+     *
+     * @since 0.4
+     */
+    private static final class Flight {
+
+        /**
+         * Origin response head and body shared by requests.
+         */
+        private final CompletableFuture<Head> head;
+
+        /**
+         * Number of requests joined the flight.
+         */
+        private final AtomicInteger joined;
+
+        /**
+         * Max number of body chunks buffered for each request.
+         */
+        private final int buffer;
+
+        /**
+         * Ctor.
+         *
+         * @param buffer Max number of body chunks buffered for each request.
+         */
+        Flight(final int buffer) {
+            this.head = new CompletableFuture<>();
+            this.joined = new AtomicInteger(1);
+            this.buffer = buffer;
+        }
+
+        /**
+         * Join identical request to the flight.
+         */
+        void join() {
+            this.joined.incrementAndGet();
+        }
+
+        /**
+         * Send origin response.
+         * Requests may join the flight until origin response begins,
+         * then flight lands and further identical requests start new flight.
+         *
+         * @param response Origin response.
+         * @param land Action removing flight from flights in progress.
+         */
+        void start(final Response response, final Runnable land) {
+            response.send(
+                (status, headers, body) -> {
+                    land.run();
+                    final int members = this.joined.get();
+                    final CompletableFuture<Void> done = new CompletableFuture<>();
+                    final List<Publisher<ByteBuffer>> bodies = new ArrayList<>(members);
+                    if (members == 1) {
+                        bodies.add(body);
+                    } else {
+                        final Fanout fanout = new Fanout(body, members, this.buffer);
+                        for (int idx = 0; idx < members; idx += 1) {
+                            bodies.add(fanout.member());
+                        }
+                        fanout.done().thenRun(() -> done.complete(null));
+                    }
+                    this.head.complete(new Head(status, headers, bodies, done));
+                    return done;
+                }
+            ).handle(
+                (nothing, throwable) -> {
+                    if (throwable != null) {
+                        land.run();
+                        this.head.completeExceptionally(throwable);
+                    }
+                    return nothing;
+                }
+            );
+        }
+
+        /**
+         * Response for joined request.
+         *
+         * @return Response.
+         */
+        Response response() {
+            return connection -> this.head.thenCompose(
+                head -> {
+                    final Publisher<ByteBuffer> body = head.body();
+                    return connection.accept(head.status, head.headers, body).whenComplete(
+                        (nothing, throwable) -> {
+                            if (body instanceof Fanout.Member) {
+                                ((Fanout.Member) body).release();
+                            } else if (throwable == null) {
+                                head.done.complete(null);
+                            } else {
+                                head.done.completeExceptionally(throwable);
+                            }
+                        }
+                    );
+                }
+            );
+        }
+    }
+
+    /**
+     * Origin response status, headers and bodies for joined requests.
+     *
+     * @since 0.4
+     */
+    private static final class Head {
+
+        /**
+         * Response status.
+         */
+        private final RsStatus status;
+
+        /**
+         * Response headers.
+         */
+        private final Iterable<Map.Entry<String, String>> headers;
+
+        /**
+         * Bodies not taken yet.
+         */
+        private final List<Publisher<ByteBuffer>> bodies;
+
+        /**
+         * Completion of origin response, completed here
+         * when origin body is not shared.
+         */
+        private final CompletableFuture<Void> done;
+
+        /**
+         * Ctor.
+         *
+         * @param status Response status.
+         * @param headers Response headers.
+         * @param bodies Bodies for joined requests.
+         * @param done Completion of origin response.
+         */
+        Head(
+            final RsStatus status,
+            final Iterable<Map.Entry<String, String>> headers,
+            final List<Publisher<ByteBuffer>> bodies,
+            final CompletableFuture<Void> done
+        ) {
+            this.status = status;
+            this.headers = headers;
+            this.bodies = bodies;
+            this.done = done;
+        }
+
+        /**
+         * Take body for a request.
+         *
+         * @return Body publisher.
+         */
+        Publisher<ByteBuffer> body() {
+            synchronized (this.bodies) {
+                if (this.bodies.isEmpty()) {
+                    throw new IllegalStateException("Response may be sent only once");
+                }
+                return this.bodies.remove(this.bodies.size() - 1);
+            }
+        }
+    }
+}
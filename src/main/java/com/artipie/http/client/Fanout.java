@@ -0,0 +1,313 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableTransformer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.flowables.ConnectableFlowable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Fan-out of single body publisher to fixed number of members.
+ * Origin is subscribed once and each chunk is copied once and shared by all members,
+ * so origin buffers may be reused as soon as chunk is passed on.
+ * If buffer size is specified, origin is subscribed as soon as first member subscribes,
+ * so absent member does not stall others. Last chunks up to buffer size are kept
+ * for members subscribing later, a member which missed any chunk fails.
+ * Every member buffers limited number of chunks it has not requested yet
+ * and fails if it falls further behind, so slow member does not stall others either.
+ * Otherwise origin is subscribed when every member either subscribed or left
+ * and is requested only as fast as slowest member consumes chunks.
+ *
+ * @since 0.4
+ */
+public final class Fanout {
+
+    /**
+     * Shared body.
+     */
+    private final ConnectableFlowable<Chunk> shared;
+
+    /**
+     * Max number of chunks buffered for a member, zero if members are not buffered.
+     */
+    private final int buffer;
+
+    /**
+     * Number of members which have neither subscribed nor left yet.
+     */
+    private final AtomicInteger pending;
+
+    /**
+     * Number of subscribed members which have not terminated yet.
+     */
+    private final AtomicInteger active;
+
+    /**
+     * Connection to origin.
+     */
+    private final AtomicReference<Disposable> connection;
+
+    /**
+     * Flag indicating origin is connected.
+     */
+    private final AtomicBoolean connected;
+
+    /**
+     * Completion of origin consumption.
+     */
+    private final CompletableFuture<Void> done;
+
+    /**
+     * Ctor for members which are not buffered.
+     *
+     * @param origin Origin body publisher.
+     * @param members Number of members.
+     */
+    public Fanout(final Publisher<ByteBuffer> origin, final int members) {
+        this(origin, members, 0);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin body publisher.
+     * @param members Number of members.
+     * @param buffer Max number of chunks buffered for a member, zero disables buffering.
+     */
+    public Fanout(final Publisher<ByteBuffer> origin, final int members, final int buffer) {
+        this.done = new CompletableFuture<>();
+        final AtomicLong index = new AtomicLong();
+        final Flowable<Chunk> chunks = Flowable.fromPublisher(origin)
+            .map(buf -> new Chunk(index.getAndIncrement(), Fanout.copy(buf)))
+            .doFinally(() -> this.done.complete(null));
+        if (buffer > 0) {
+            this.shared = chunks.replay(buffer);
+        } else {
+            this.shared = chunks.publish();
+        }
+        this.buffer = buffer;
+        this.pending = new AtomicInteger(members);
+        this.active = new AtomicInteger();
+        this.connection = new AtomicReference<>();
+        this.connected = new AtomicBoolean();
+    }
+
+    /**
+     * Create new member. Each member should be either subscribed
+     * or released exactly once.
+     *
+     * @return Member.
+     */
+    public Member member() {
+        return this.member(body -> body);
+    }
+
+    /**
+     * Create new member which body is shaped by transformer,
+     * e.g. to react to cancellation or to stop receiving chunks.
+     * Each member should be either subscribed or released exactly once.
+     *
+     * @param shape Transformer applied to member body.
+     * @return Member.
+     */
+    public Member member(final FlowableTransformer<ByteBuffer, ByteBuffer> shape) {
+        return new Member(shape);
+    }
+
+    /**
+     * Completion of origin consumption, completes when origin body terminates
+     * or when it is cancelled because all members have left.
+     *
+     * @return Completion.
+     */
+    public CompletionStage<Void> done() {
+        return this.done;
+    }
+
+    /**
+     * Member arrived, either by subscribing or by leaving.
+     * Origin is connected when all members arrived or, if members are buffered,
+     * when first member subscribed.
+     *
+     * @param subscribed True if member subscribed, false if it left.
+     */
+    private void arrive(final boolean subscribed) {
+        final boolean all = this.pending.decrementAndGet() == 0;
+        if ((all || subscribed && this.buffer > 0)
+            && this.connected.compareAndSet(false, true)) {
+            this.connection.set(this.shared.connect());
+        }
+        this.disconnectIfLeft();
+    }
+
+    /**
+     * Subscribed member terminated.
+     */
+    private void terminated() {
+        this.active.decrementAndGet();
+        this.disconnectIfLeft();
+    }
+
+    /**
+     * Cancel origin if all members are gone.
+     */
+    private void disconnectIfLeft() {
+        if (this.pending.get() == 0 && this.active.get() == 0) {
+            final Disposable disposable = this.connection.get();
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    /**
+     * Copy buffer content to new buffer.
+     *
+     * @param buf Buffer to copy.
+     * @return Copy of the buffer.
+     */
+    private static ByteBuffer copy(final ByteBuffer buf) {
+        final ByteBuffer copy = ByteBuffer.allocate(buf.remaining());
+        copy.put(buf.duplicate());
+        copy.flip();
+        return copy;
+    }
+
+    /**
+     * Fan-out member.
+     *
+     * @since 0.4
+     */
+    public final class Member implements Publisher<ByteBuffer> {
+
+        /**
+         * Transformer applied to member body.
+         */
+        private final FlowableTransformer<ByteBuffer, ByteBuffer> shape;
+
+        /**
+         * Flag indicating member has arrived.
+         */
+        private final AtomicBoolean arrival;
+
+        /**
+         * Ctor.
+         *
+         * @param shape Transformer applied to member body.
+         */
+        Member(final FlowableTransformer<ByteBuffer, ByteBuffer> shape) {
+            this.shape = shape;
+            this.arrival = new AtomicBoolean();
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+            if (this.arrival.compareAndSet(false, true)) {
+                Fanout.this.active.incrementAndGet();
+                final AtomicLong expected = new AtomicLong();
+                final Flowable<ByteBuffer> chunks = Fanout.this.shared.map(
+                    chunk -> {
+                        if (chunk.index != expected.getAndIncrement()) {
+                            throw new IllegalStateException(
+                                "Member subscribed after shared chunks were dropped"
+                            );
+                        }
+                        return chunk.buffer.duplicate();
+                    }
+                );
+                final Flowable<ByteBuffer> body;
+                if (Fanout.this.buffer > 0) {
+                    body = chunks.onBackpressureBuffer(Fanout.this.buffer);
+                } else {
+                    body = chunks;
+                }
+                body.compose(this.shape)
+                    .doFinally(Fanout.this::terminated)
+                    .subscribe(subscriber);
+                Fanout.this.arrive(true);
+            } else {
+                Flowable.<ByteBuffer>error(
+                    new IllegalStateException("Member body may be subscribed only once")
+                ).subscribe(subscriber);
+            }
+        }
+
+        /**
+         * Check member has arrived, either by subscribing or by leaving.
+         *
+         * @return True if member has arrived.
+         */
+        public boolean arrived() {
+            return this.arrival.get();
+        }
+
+        /**
+         * Leave fan-out without subscribing, if not subscribed yet.
+         */
+        public void release() {
+            if (this.arrival.compareAndSet(false, true)) {
+                Fanout.this.arrive(false);
+            }
+        }
+    }
+
+    /**
+     * Body chunk with its index in origin body.
+     *
+     * @since 0.4
+     */
+    private static final class Chunk {
+
+        /**
+         * Index of chunk in origin body.
+         */
+        private final long index;
+
+        /**
+         * Chunk content.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Ctor.
+         *
+         * @param index Index of chunk in origin body.
+         * @param buffer Chunk content.
+         */
+        Chunk(final long index, final ByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+    }
+}
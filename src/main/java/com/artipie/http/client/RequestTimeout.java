@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import com.artipie.http.headers.Header;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request header overriding total time of request and response exchange
+ * configured by {@link Settings#requestTimeout()} for single request.
+ * Value is timeout in milliseconds, zero means infinite wait time.
+ * Header is consumed by client and is not sent to remote server.
+ *
+ * @since 0.4
+ */
+public final class RequestTimeout extends Header.Wrap {
+
+    /**
+     * Header name.
+     */
+    public static final String NAME = "X-Artipie-Request-Timeout";
+
+    /**
+     * Ctor.
+     *
+     * @param timeout Timeout.
+     * @param unit The time unit of the timeout argument.
+     */
+    public RequestTimeout(final long timeout, final TimeUnit unit) {
+        this(unit.toMillis(timeout));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param millis Timeout in milliseconds.
+     */
+    public RequestTimeout(final long millis) {
+        super(new Header(RequestTimeout.NAME, String.valueOf(millis)));
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import io.reactivex.processors.BehaviorProcessor;
+import io.reactivex.processors.FlowableProcessor;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+/**
+ * Slice downloading large resources by segments in parallel using range requests.
+ * `GET` request without `Range` header is sent to origin slice asking for first
+ * segment only. If origin responds with `206 Partial Content` for a resource
+ * larger than one segment, the rest of segments are requested concurrently,
+ * each over its own connection, and their bodies are streamed to client in order
+ * as single `200 OK` response. Number of body chunks buffered for each segment
+ * which is received ahead of its turn is limited, so memory usage is bounded.
+ * Next segments are requested only while client has requested body chunks
+ * it has not received yet, so segments are not left waiting for client
+ * which stopped reading until origin connections time out.
+ * If origin does not support ranges it responds with whole resource,
+ * which is passed to client as is. If origin responds to range request
+ * with encoded content or with `416 Range Not Satisfiable`, the body of
+ * this response is cancelled and resource is requested without range.
+ * Other requests are passed to origin slice as is.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class SegmentedSlice implements Slice {
+
+    /**
+     * Default segment size in bytes.
+     */
+    private static final long SEGMENT = 8L * 1024 * 1024;
+
+    /**
+     * Default number of segments downloaded concurrently.
+     */
+    private static final int PARALLEL = 4;
+
+    /**
+     * Default max number of body chunks buffered for each segment.
+     */
+    private static final int BUFFER = 32;
+
+    /**
+     * Content range header value pattern.
+     */
+    private static final Pattern CONTENT_RANGE = Pattern.compile(
+        "bytes\\s+(\\d+)-(\\d+)/(\\d+)"
+    );
+
+    /**
+     * Status code of partial content response.
+     */
+    private static final String PARTIAL = "206";
+
+    /**
+     * Status code of response to request with unsatisfiable range.
+     */
+    private static final String UNSATISFIABLE = "416";
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Segment size in bytes.
+     */
+    private final long segment;
+
+    /**
+     * Number of segments downloaded concurrently.
+     */
+    private final int parallel;
+
+    /**
+     * Max number of body chunks buffered for each segment.
+     */
+    private final int buffer;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     */
+    public SegmentedSlice(final Slice origin) {
+        this(origin, SegmentedSlice.SEGMENT, SegmentedSlice.PARALLEL, SegmentedSlice.BUFFER);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param segment Segment size in bytes.
+     * @param parallel Number of segments downloaded concurrently.
+     * @param buffer Max number of body chunks buffered for each segment.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public SegmentedSlice(
+        final Slice origin, final long segment, final int parallel, final int buffer
+    ) {
+        this.origin = origin;
+        this.segment = segment;
+        this.parallel = parallel;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final Response response;
+        if (new RequestLineFrom(line).method() == RqMethod.GET
+            && new RqHeaders(headers, "Range").isEmpty()
+            && new RqHeaders(headers, "If-Range").isEmpty()) {
+            response = connection -> this.origin.response(
+                line, SegmentedSlice.ranged(headers, 0, this.segment - 1, ""), Content.EMPTY
+            ).send(
+                (status, rsheaders, rsbody) -> {
+                    final CompletionStage<Void> result;
+                    final Matcher range = SegmentedSlice.CONTENT_RANGE.matcher(
+                        new RqHeaders(rsheaders, "Content-Range").stream()
+                            .findFirst()
+                            .orElse("")
+                            .trim()
+                    );
+                    if (status.code().equals(SegmentedSlice.PARTIAL)
+                        && range.matches()
+                        && Long.parseLong(range.group(1)) == 0
+                        && new RqHeaders(rsheaders, "Content-Encoding").isEmpty()) {
+                        result = this.segmented(
+                            connection, line, headers, rsheaders, rsbody,
+                            Long.parseLong(range.group(2)) + 1,
+                            Long.parseLong(range.group(3))
+                        );
+                    } else if (status.code().equals(SegmentedSlice.PARTIAL)
+                        || status.code().equals(SegmentedSlice.UNSATISFIABLE)) {
+                        SegmentedSlice.discard(rsbody);
+                        result = this.origin.response(line, headers, body).send(connection);
+                    } else {
+                        result = connection.accept(status, rsheaders, rsbody);
+                    }
+                    return result;
+                }
+            );
+        } else {
+            response = this.origin.response(line, headers, body);
+        }
+        return response;
+    }
+
+    /**
+     * Send whole resource to connection, streaming body of first segment
+     * and bodies of other segments downloaded concurrently.
+     *
+     * @param connection Connection.
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param rsheaders First segment response headers.
+     * @param first First segment response body.
+     * @param received Length of first segment.
+     * @param total Length of resource.
+     * @return Completion of sending response.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private CompletionStage<Void> segmented(
+        final Connection connection,
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Iterable<Map.Entry<String, String>> rsheaders,
+        final Publisher<ByteBuffer> first,
+        final long received,
+        final long total
+    ) {
+        final String validator = SegmentedSlice.validator(rsheaders);
+        final long rest = Math.max(total - received, 0);
+        final int count = (int) ((rest + this.segment - 1) / this.segment);
+        final List<Map.Entry<String, String>> whole = StreamSupport
+            .stream(rsheaders.spliterator(), false)
+            .filter(
+                header -> !"Content-Range".equalsIgnoreCase(header.getKey())
+                    && !"Content-Length".equalsIgnoreCase(header.getKey())
+            )
+            .collect(Collectors.toCollection(ArrayList::new));
+        whole.add(new Header("Content-Length", String.valueOf(total)));
+        final AtomicLong demand = new AtomicLong();
+        final FlowableProcessor<Boolean> requested = BehaviorProcessor.<Boolean>create()
+            .toSerialized();
+        return connection.accept(
+            RsStatus.OK,
+            new Headers.From(whole),
+            Flowable.range(0, count + 1).concatMapEager(
+                idx -> {
+                    final Flowable<ByteBuffer> part;
+                    if (idx == 0) {
+                        part = Flowable.fromPublisher(first);
+                    } else {
+                        final long from = received + (idx - 1) * this.segment;
+                        part = this.segment(
+                            line, headers, from, Math.min(from + this.segment, total) - 1,
+                            total, validator
+                        ).delaySubscription(
+                            requested.filter(ignored -> demand.get() > 0).take(1)
+                        );
+                    }
+                    return part.map(SegmentedSlice::copy);
+                },
+                this.parallel + 1,
+                this.buffer
+            ).doOnRequest(
+                num -> {
+                    demand.getAndUpdate(
+                        cur -> {
+                            final long sum;
+                            if (cur + num < 0) {
+                                sum = Long.MAX_VALUE;
+                            } else {
+                                sum = cur + num;
+                            }
+                            return sum;
+                        }
+                    );
+                    requested.onNext(true);
+                }
+            ).doOnNext(
+                ignored -> demand.getAndUpdate(
+                    cur -> {
+                        final long left;
+                        if (cur == Long.MAX_VALUE) {
+                            left = cur;
+                        } else {
+                            left = cur - 1;
+                        }
+                        return left;
+                    }
+                )
+            )
+        );
+    }
+
+    /**
+     * Download segment of resource.
+     * Segment fails if origin does not respond with requested range of resource
+     * of same length, for example if resource has changed since first segment
+     * was received and origin ignored `If-Range` validator.
+     *
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param from First byte position.
+     * @param to Last byte position.
+     * @param total Length of resource.
+     * @param validator Validator of resource for `If-Range` header, empty if unknown.
+     * @return Segment body.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private Flowable<ByteBuffer> segment(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final long from,
+        final long to,
+        final long total,
+        final String validator
+    ) {
+        return Flowable.defer(
+            () -> {
+                final CompletableFuture<Publisher<ByteBuffer>> body = new CompletableFuture<>();
+                final CompletableFuture<Void> consumed = new CompletableFuture<>();
+                this.origin.response(
+                    line, SegmentedSlice.ranged(headers, from, to, validator), Content.EMPTY
+                ).send(
+                    (status, rsheaders, rsbody) -> {
+                        final String expected = String.format(
+                            "bytes %d-%d/%d", from, to, total
+                        );
+                        if (status.code().equals(SegmentedSlice.PARTIAL)
+                            && new RqHeaders(rsheaders, "Content-Range").stream()
+                                .anyMatch(actual -> actual.trim().equals(expected))) {
+                            body.complete(rsbody);
+                        } else {
+                            body.completeExceptionally(
+                                new IllegalStateException(
+                                    String.format(
+                                        "Origin responded with %s instead of %s",
+                                        status.code(), expected
+                                    )
+                                )
+                            );
+                            consumed.complete(null);
+                        }
+                        return consumed;
+                    }
+                ).handle(
+                    (nothing, throwable) -> {
+                        if (throwable != null) {
+                            body.completeExceptionally(throwable);
+                        }
+                        return nothing;
+                    }
+                );
+                return SingleInterop.fromFuture(body)
+                    .flatMapPublisher(part -> part)
+                    .doFinally(() -> consumed.complete(null));
+            }
+        );
+    }
+
+    /**
+     * Validator of resource for `If-Range` header, so segments of changed resource
+     * are not mixed with segments of original one. Strong entity tag is preferred,
+     * last modification date is used otherwise.
+     *
+     * @param rsheaders First segment response headers.
+     * @return Validator, empty if response has none.
+     */
+    private static String validator(final Iterable<Map.Entry<String, String>> rsheaders) {
+        return new RqHeaders(rsheaders, "ETag").stream()
+            .filter(etag -> !etag.startsWith("W/"))
+            .findFirst()
+            .orElseGet(
+                () -> new RqHeaders(rsheaders, "Last-Modified").stream()
+                    .findFirst()
+                    .orElse("")
+            );
+    }
+
+    /**
+     * Cancel body which is not passed to client, so origin does not keep
+     * its connection busy sending it.
+     *
+     * @param body Body to discard.
+     */
+    private static void discard(final Publisher<ByteBuffer> body) {
+        Flowable.fromPublisher(body).subscribe(
+            item -> { }, err -> { }, () -> { }, Subscription::cancel
+        );
+    }
+
+    /**
+     * Copy buffer content to new buffer, so buffers queued ahead of their turn
+     * are not affected if origin reuses its buffers.
+     *
+     * @param buf Buffer to copy.
+     * @return Copy of the buffer.
+     */
+    private static ByteBuffer copy(final ByteBuffer buf) {
+        final ByteBuffer copy = ByteBuffer.allocate(buf.remaining());
+        copy.put(buf.duplicate());
+        copy.flip();
+        return copy;
+    }
+
+    /**
+     * Request headers asking for range of resource.
+     *
+     * @param headers Request headers.
+     * @param from First byte position.
+     * @param to Last byte position.
+     * @param validator Validator of resource for `If-Range` header, empty if unknown.
+     * @return Headers.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static Headers ranged(
+        final Iterable<Map.Entry<String, String>> headers,
+        final long from,
+        final long to,
+        final String validator
+    ) {
+        final List<Map.Entry<String, String>> ranged = StreamSupport
+            .stream(headers.spliterator(), false)
+            .collect(Collectors.toCollection(ArrayList::new));
+        ranged.add(new Header("Range", String.format("bytes=%d-%d", from, to)));
+        if (!validator.isEmpty()) {
+            ranged.add(new Header("If-Range", validator));
+        }
+        return new Headers.From(ranged);
+    }
+}
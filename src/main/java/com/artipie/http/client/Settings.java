@@ -23,11 +23,21 @@
  */
 package com.artipie.http.client;
 
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Client slices settings.
+ * Settings added since 0.4 have default values, so implementations
+ * need to override only settings they change. Decorators changing
+ * single setting extend {@link Settings.Wrap}.
  *
  * @since 0.1
  */
@@ -72,6 +82,205 @@ public interface Settings {
      */
     long idleTimeout();
 
+    /**
+     * HTTP protocol transport used to connect to destinations.
+     *
+     * @return Transport.
+     */
+    default Transport transport() {
+        return Transport.HTTP_1_1;
+    }
+
+    /**
+     * HTTP/2 protocol settings, used if {@link Transport#HTTP_2} transport is selected.
+     *
+     * @return HTTP/2 settings.
+     */
+    default Http2 http2() {
+        return new Http2.Default();
+    }
+
+    /**
+     * Max number of connections opened to single destination.
+     *
+     * @return Max connections per destination.
+     */
+    default int maxConnectionsPerDestination() {
+        // @checkstyle MagicNumberCheck (1 line)
+        return 64;
+    }
+
+    /**
+     * Max number of requests waiting for connection to single destination.
+     * Requests exceeding the limit are rejected.
+     *
+     * @return Max queued requests per destination.
+     */
+    default int maxRequestsQueuedPerDestination() {
+        // @checkstyle MagicNumberCheck (1 line)
+        return 1024;
+    }
+
+    /**
+     * Max number of connections overridden for specific hosts.
+     * Hosts absent in the map use {@link #maxConnectionsPerDestination()} value.
+     *
+     * @return Max connections by host name.
+     */
+    default Map<String, Integer> maxConnectionsPerHost() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Strategy of choosing pooled connection to send request over.
+     *
+     * @return Connection pool strategy.
+     */
+    default PoolStrategy poolStrategy() {
+        return PoolStrategy.LIFO;
+    }
+
+    /**
+     * Connection pool strategy overridden for specific hosts.
+     * Hosts absent in the map use {@link #poolStrategy()} value.
+     *
+     * @return Connection pool strategy by host name.
+     */
+    default Map<String, PoolStrategy> poolStrategyPerHost() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Destinations to open connections to in advance, when client is started.
+     * Only scheme, host and port of URIs are used.
+     *
+     * @return Warm up destinations.
+     */
+    default List<URI> warmUpDestinations() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Number of connections opened in advance to each of warm up destinations.
+     *
+     * @return Warm up connections per destination.
+     */
+    default int warmUpConnections() {
+        return 0;
+    }
+
+    /**
+     * Executor shared by client for all asynchronous tasks, e.g. across several client instances.
+     * Such executor is not stopped with client.
+     * If empty, client creates own thread pool using {@link #threads()} settings.
+     *
+     * @return Executor if specified, empty otherwise.
+     */
+    default Optional<Executor> executor() {
+        return Optional.empty();
+    }
+
+    /**
+     * Settings of thread pool created by client if no executor is specified.
+     *
+     * @return Thread pool settings.
+     */
+    default Threads threads() {
+        return new Threads.Default();
+    }
+
+    /**
+     * Number of selector threads handling network I/O of connections.
+     *
+     * @return Selectors number.
+     */
+    default int selectors() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    /**
+     * Settings of I/O buffers and pool the buffers are taken from.
+     *
+     * @return Buffers settings.
+     */
+    default Buffers buffers() {
+        return new Buffers.Default();
+    }
+
+    /**
+     * Options of sockets used for connections.
+     *
+     * @return Socket options.
+     */
+    default Socket socket() {
+        return new Socket.Default();
+    }
+
+    /**
+     * Settings of host names resolution.
+     *
+     * @return DNS settings.
+     */
+    default Dns dns() {
+        return new Dns.Default();
+    }
+
+    /**
+     * Delay, in milliseconds, before starting connection attempt to next address
+     * of destination resolved to several addresses, while previous attempts are in progress
+     * (Happy Eyeballs, RFC 8305). First established connection is used, others are closed.
+     * Zero means addresses are tried one by one, each until it fails.
+     *
+     * @return Connection attempt delay in milliseconds.
+     */
+    default long connectAttemptDelay() {
+        return 0L;
+    }
+
+    /**
+     * Max time, in milliseconds, of whole request and response exchange
+     * including connecting and receiving response body.
+     * Zero means infinite wait time.
+     *
+     * @return Request timeout in milliseconds.
+     */
+    default long requestTimeout() {
+        return 0L;
+    }
+
+    /**
+     * Max time, in milliseconds, TLS handshake of new secure connection can take.
+     * Zero means infinite wait time.
+     *
+     * @return TLS handshake timeout in milliseconds.
+     */
+    default long tlsHandshakeTimeout() {
+        return 0L;
+    }
+
+    /**
+     * Max time, in milliseconds, between sending request and receiving
+     * beginning of response from destination.
+     * Zero means infinite wait time.
+     *
+     * @return First byte timeout in milliseconds.
+     */
+    default long firstByteTimeout() {
+        return 0L;
+    }
+
+    /**
+     * Max size, in bytes, of unread response body that is drained
+     * to keep connection reusable when response body was not consumed.
+     * Connection with larger unread body is aborted and discarded instead.
+     * Negative value means bodies are always drained.
+     *
+     * @return Drain limit in bytes.
+     */
+    default long drainLimit() {
+        return -1L;
+    }
+
     /**
      * Proxy settings.
      *
@@ -154,252 +363,1855 @@ public interface Settings {
     }
 
     /**
-     * Default {@link Settings}.
+     * HTTP protocol transport.
      *
-     * @since 0.1
+     * @since 0.4
      */
-    final class Default implements Settings {
+    enum Transport {
 
-        @Override
-        public Optional<Proxy> proxy() {
-            return Optional.empty();
+        /**
+         * HTTP/1.1 protocol, one request at a time per connection.
+         */
+        HTTP_1_1,
+
+        /**
+         * HTTP/2 protocol multiplexing requests over single connection.
+         * Protocol is negotiated with ALPN for secure connections
+         * and used with prior knowledge (h2c) for plain connections.
+         */
+        HTTP_2
+    }
+
+    /**
+     * Strategy of choosing pooled connection.
+     *
+     * @since 0.4
+     */
+    enum PoolStrategy {
+
+        /**
+         * Most recently used connection is preferred, so small set of connections
+         * is kept warm and others are let to expire by idle timeout.
+         */
+        LIFO,
+
+        /**
+         * Connections are used in turn, spreading load evenly,
+         * e.g. across backends behind L4 load balancer.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Connection is chosen randomly.
+         */
+        RANDOM,
+
+        /**
+         * Requests are multiplexed over already open connections before opening new ones,
+         * suitable for HTTP/2 transport.
+         */
+        MULTIPLEXED
+    }
+
+    /**
+     * HTTP/2 protocol settings.
+     *
+     * @since 0.4
+     */
+    interface Http2 {
+
+        /**
+         * Initial receive flow control window for whole connection in bytes.
+         *
+         * @return Session receive window size.
+         */
+        int sessionRecvWindow();
+
+        /**
+         * Initial receive flow control window for single stream in bytes.
+         *
+         * @return Stream receive window size.
+         */
+        int streamRecvWindow();
+
+        /**
+         * Max number of concurrent streams (requests) multiplexed over single connection.
+         * Lower limit announced by server takes precedence, higher one is lowered
+         * to this limit.
+         *
+         * @return Max concurrent streams per connection.
+         */
+        int maxConcurrentStreams();
+
+        /**
+         * Interval, in milliseconds, of PING frames sent to keep connections alive.
+         * A connection whose PING is not acknowledged within the same interval
+         * is closed. Zero means no pings are sent.
+         *
+         * @return Ping interval in milliseconds.
+         */
+        long pingInterval();
+
+        /**
+         * Default HTTP/2 settings.
+         *
+         * @since 0.4
+         */
+        final class Default implements Http2 {
+
+            @Override
+            public int sessionRecvWindow() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 16 * 1024 * 1024;
+            }
+
+            @Override
+            public int streamRecvWindow() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 8 * 1024 * 1024;
+            }
+
+            @Override
+            public int maxConcurrentStreams() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 1024;
+            }
+
+            @Override
+            public long pingInterval() {
+                return 0L;
+            }
         }
 
-        @Override
-        public boolean trustAll() {
-            return false;
+        /**
+         * Simple HTTP/2 settings.
+         *
+         * @since 0.4
+         */
+        final class Simple implements Http2 {
+
+            /**
+             * Session receive window size.
+             */
+            private final int session;
+
+            /**
+             * Stream receive window size.
+             */
+            private final int stream;
+
+            /**
+             * Max concurrent streams per connection.
+             */
+            private final int streams;
+
+            /**
+             * Ping interval in milliseconds.
+             */
+            private final long ping;
+
+            /**
+             * Ctor.
+             *
+             * @param session Session receive window size.
+             * @param stream Stream receive window size.
+             * @param streams Max concurrent streams per connection.
+             * @param ping Ping interval in milliseconds.
+             * @checkstyle ParameterNumberCheck (3 lines)
+             */
+            public Simple(
+                final int session, final int stream, final int streams, final long ping
+            ) {
+                this.session = session;
+                this.stream = stream;
+                this.streams = streams;
+                this.ping = ping;
+            }
+
+            @Override
+            public int sessionRecvWindow() {
+                return this.session;
+            }
+
+            @Override
+            public int streamRecvWindow() {
+                return this.stream;
+            }
+
+            @Override
+            public int maxConcurrentStreams() {
+                return this.streams;
+            }
+
+            @Override
+            public long pingInterval() {
+                return this.ping;
+            }
         }
+    }
 
-        @Override
-        public boolean followRedirects() {
-            return false;
+    /**
+     * Thread pool settings.
+     *
+     * @since 0.4
+     */
+    interface Threads {
+
+        /**
+         * Min number of threads kept in pool.
+         *
+         * @return Min threads.
+         */
+        int min();
+
+        /**
+         * Max number of threads in pool.
+         *
+         * @return Max threads.
+         */
+        int max();
+
+        /**
+         * Number of threads reserved for immediate execution of tasks.
+         * Negative value means heuristic number is used.
+         *
+         * @return Reserved threads.
+         */
+        int reserved();
+
+        /**
+         * Determine if virtual thread per task should be used instead of pooled threads.
+         * Virtual threads are available in JDK 21+ only.
+         *
+         * @return If virtual threads should be used <code>true</code> is returned,
+         *  <code>false</code> - otherwise.
+         */
+        boolean virtual();
+
+        /**
+         * Default thread pool settings.
+         *
+         * @since 0.4
+         */
+        final class Default implements Threads {
+
+            @Override
+            public int min() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 8;
+            }
+
+            @Override
+            public int max() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 200;
+            }
+
+            @Override
+            public int reserved() {
+                return -1;
+            }
+
+            @Override
+            public boolean virtual() {
+                return false;
+            }
         }
 
-        @Override
-        public long connectTimeout() {
-            // @checkstyle MagicNumberCheck (1 line)
-            return 15_000L;
+        /**
+         * Simple thread pool settings.
+         *
+         * @since 0.4
+         */
+        final class Simple implements Threads {
+
+            /**
+             * Min threads.
+             */
+            private final int minimum;
+
+            /**
+             * Max threads.
+             */
+            private final int maximum;
+
+            /**
+             * Reserved threads.
+             */
+            private final int rsrvd;
+
+            /**
+             * Ctor.
+             *
+             * @param minimum Min threads.
+             * @param maximum Max threads.
+             */
+            public Simple(final int minimum, final int maximum) {
+                this(minimum, maximum, -1);
+            }
+
+            /**
+             * Ctor.
+             *
+             * @param minimum Min threads.
+             * @param maximum Max threads.
+             * @param rsrvd Reserved threads.
+             */
+            public Simple(final int minimum, final int maximum, final int rsrvd) {
+                this.minimum = minimum;
+                this.maximum = maximum;
+                this.rsrvd = rsrvd;
+            }
+
+            @Override
+            public int min() {
+                return this.minimum;
+            }
+
+            @Override
+            public int max() {
+                return this.maximum;
+            }
+
+            @Override
+            public int reserved() {
+                return this.rsrvd;
+            }
+
+            @Override
+            public boolean virtual() {
+                return false;
+            }
+        }
+
+        /**
+         * Settings for starting virtual thread per task, requires JDK 21+.
+         *
+         * @since 0.4
+         */
+        final class Virtual implements Threads {
+
+            @Override
+            public int min() {
+                return 0;
+            }
+
+            @Override
+            public int max() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public int reserved() {
+                return 0;
+            }
+
+            @Override
+            public boolean virtual() {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * I/O buffers settings.
+     *
+     * @since 0.4
+     */
+    interface Buffers {
+
+        /**
+         * Determine if direct (off-heap) buffers should be used for network I/O.
+         * Heap buffers are used where client needs them anyway, like decoding content.
+         *
+         * @return If direct buffers should be used <code>true</code> is returned,
+         *  <code>false</code> - for heap buffers.
+         */
+        boolean direct();
+
+        /**
+         * Capacity step, in bytes, between buckets of pooled buffers.
+         *
+         * @return Bucket factor.
+         */
+        int bucketFactor();
+
+        /**
+         * Max number of buffers kept in single bucket of the pool.
+         * Negative value means no limit.
+         *
+         * @return Max bucket length.
+         */
+        int maxBucketLength();
+
+        /**
+         * Max memory, in bytes, retained by pooled heap and direct buffers in total.
+         * If direct buffers are used, it is split equally between heap and direct ones.
+         * Zero means heuristic limit is used for each of them, negative value means no limit.
+         *
+         * @return Max pool memory in bytes.
+         */
+        long maxMemory();
+
+        /**
+         * Size, in bytes, of buffer used to write requests.
+         *
+         * @return Request buffer size.
+         */
+        int requestBufferSize();
+
+        /**
+         * Size, in bytes, of buffer used to read responses.
+         *
+         * @return Response buffer size.
+         */
+        int responseBufferSize();
+
+        /**
+         * Default buffers settings.
+         *
+         * @since 0.4
+         */
+        final class Default implements Buffers {
+
+            @Override
+            public boolean direct() {
+                return true;
+            }
+
+            @Override
+            public int bucketFactor() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 2048;
+            }
+
+            @Override
+            public int maxBucketLength() {
+                return -1;
+            }
+
+            @Override
+            public long maxMemory() {
+                return 0L;
+            }
+
+            @Override
+            public int requestBufferSize() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 4096;
+            }
+
+            @Override
+            public int responseBufferSize() {
+                // @checkstyle MagicNumberCheck (1 line)
+                return 16_384;
+            }
+        }
+
+        /**
+         * Simple buffers settings.
+         *
+         * @since 0.4
+         */
+        final class Simple implements Buffers {
+
+            /**
+             * Direct buffers flag.
+             */
+            private final boolean drct;
+
+            /**
+             * Bucket factor.
+             */
+            private final int factor;
+
+            /**
+             * Max bucket length.
+             */
+            private final int length;
+
+            /**
+             * Max pool memory.
+             */
+            private final long memory;
+
+            /**
+             * Request buffer size.
+             */
+            private final int request;
+
+            /**
+             * Response buffer size.
+             */
+            private final int response;
+
+            /**
+             * Ctor.
+             *
+             * @param drct Direct buffers flag.
+             * @param factor Bucket factor.
+             * @param length Max bucket length.
+             * @param memory Max pool memory.
+             * @param request Request buffer size.
+             * @param response Response buffer size.
+             * @checkstyle ParameterNumberCheck (10 lines)
+             */
+            public Simple(
+                final boolean drct,
+                final int factor,
+                final int length,
+                final long memory,
+                final int request,
+                final int response
+            ) {
+                this.drct = drct;
+                this.factor = factor;
+                this.length = length;
+                this.memory = memory;
+                this.request = request;
+                this.response = response;
+            }
+
+            @Override
+            public boolean direct() {
+                return this.drct;
+            }
+
+            @Override
+            public int bucketFactor() {
+                return this.factor;
+            }
+
+            @Override
+            public int maxBucketLength() {
+                return this.length;
+            }
+
+            @Override
+            public long maxMemory() {
+                return this.memory;
+            }
+
+            @Override
+            public int requestBufferSize() {
+                return this.request;
+            }
+
+            @Override
+            public int responseBufferSize() {
+                return this.response;
+            }
+        }
+    }
+
+    /**
+     * Socket options.
+     *
+     * @since 0.4
+     */
+    interface Socket {
+
+        /**
+         * Determine if Nagle's algorithm should be disabled (TCP_NODELAY).
+         *
+         * @return If small packets should be sent without delay <code>true</code> is returned,
+         *  <code>false</code> - otherwise.
+         */
+        boolean tcpNoDelay();
+
+        /**
+         * Determine if TCP keep-alive probes should be sent (SO_KEEPALIVE).
+         *
+         * @return If keep-alive is enabled <code>true</code> is returned,
+         *  <code>false</code> - otherwise.
+         */
+        boolean keepAlive();
+
+        /**
+         * Size of socket receive buffer in bytes (SO_RCVBUF).
+         * Zero or negative value means operating system default is used.
+         *
+         * @return Receive buffer size.
+         */
+        int receiveBufferSize();
+
+        /**
+         * Size of socket send buffer in bytes (SO_SNDBUF).
+         * Zero or negative value means operating system default is used.
+         *
+         * @return Send buffer size.
+         */
+        int sendBufferSize();
+
+        /**
+         * Default socket options.
+         *
+         * @since 0.4
+         */
+        final class Default implements Socket {
+
+            @Override
+            public boolean tcpNoDelay() {
+                return true;
+            }
+
+            @Override
+            public boolean keepAlive() {
+                return false;
+            }
+
+            @Override
+            public int receiveBufferSize() {
+                return 0;
+            }
+
+            @Override
+            public int sendBufferSize() {
+                return 0;
+            }
+        }
+
+        /**
+         * Simple socket options.
+         *
+         * @since 0.4
+         */
+        final class Simple implements Socket {
+
+            /**
+             * TCP_NODELAY option.
+             */
+            private final boolean nodelay;
+
+            /**
+             * SO_KEEPALIVE option.
+             */
+            private final boolean keepalive;
+
+            /**
+             * SO_RCVBUF option.
+             */
+            private final int rcvbuf;
+
+            /**
+             * SO_SNDBUF option.
+             */
+            private final int sndbuf;
+
+            /**
+             * Ctor.
+             *
+             * @param nodelay TCP_NODELAY option.
+             * @param keepalive SO_KEEPALIVE option.
+             * @param rcvbuf SO_RCVBUF option.
+             * @param sndbuf SO_SNDBUF option.
+             * @checkstyle ParameterNumberCheck (8 lines)
+             */
+            public Simple(
+                final boolean nodelay,
+                final boolean keepalive,
+                final int rcvbuf,
+                final int sndbuf
+            ) {
+                this.nodelay = nodelay;
+                this.keepalive = keepalive;
+                this.rcvbuf = rcvbuf;
+                this.sndbuf = sndbuf;
+            }
+
+            @Override
+            public boolean tcpNoDelay() {
+                return this.nodelay;
+            }
+
+            @Override
+            public boolean keepAlive() {
+                return this.keepalive;
+            }
+
+            @Override
+            public int receiveBufferSize() {
+                return this.rcvbuf;
+            }
+
+            @Override
+            public int sendBufferSize() {
+                return this.sndbuf;
+            }
+        }
+    }
+
+    /**
+     * Host names resolution settings.
+     *
+     * @since 0.4
+     */
+    interface Dns {
+
+        /**
+         * Time, in milliseconds, resolved addresses are cached for.
+         * Addresses used after half of this time are refreshed in background,
+         * so hot host names do not wait for resolution.
+         * Zero means addresses are not cached by client.
+         *
+         * @return Cache TTL in milliseconds.
+         */
+        long ttl();
+
+        /**
+         * Time, in milliseconds, resolution failures are cached for.
+         * Zero means failures are not cached.
+         *
+         * @return Negative cache TTL in milliseconds.
+         */
+        long negativeTtl();
+
+        /**
+         * Default DNS settings, addresses are not cached.
+         *
+         * @since 0.4
+         */
+        final class Default implements Dns {
+
+            @Override
+            public long ttl() {
+                return 0L;
+            }
+
+            @Override
+            public long negativeTtl() {
+                return 0L;
+            }
+        }
+
+        /**
+         * Simple DNS settings.
+         *
+         * @since 0.4
+         */
+        final class Simple implements Dns {
+
+            /**
+             * Cache TTL in milliseconds.
+             */
+            private final long positive;
+
+            /**
+             * Negative cache TTL in milliseconds.
+             */
+            private final long negative;
+
+            /**
+             * Ctor.
+             *
+             * @param positive Cache TTL in milliseconds.
+             * @param negative Negative cache TTL in milliseconds.
+             */
+            public Simple(final long positive, final long negative) {
+                this.positive = positive;
+                this.negative = negative;
+            }
+
+            @Override
+            public long ttl() {
+                return this.positive;
+            }
+
+            @Override
+            public long negativeTtl() {
+                return this.negative;
+            }
+        }
+    }
+
+    /**
+     * Default {@link Settings}.
+     *
+     * @since 0.1
+     */
+    final class Default implements Settings {
+
+        @Override
+        public Optional<Proxy> proxy() {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean trustAll() {
+            return false;
+        }
+
+        @Override
+        public boolean followRedirects() {
+            return false;
+        }
+
+        @Override
+        public long connectTimeout() {
+            // @checkstyle MagicNumberCheck (1 line)
+            return 15_000L;
+        }
+
+        @Override
+        public long idleTimeout() {
+            return 0L;
+        }
+    }
+
+    /**
+     * Settings delegating to origin {@link Settings},
+     * decorators extend it overriding only settings they change.
+     *
+     * @since 0.4
+     */
+    abstract class Wrap implements Settings {
+
+        /**
+         * Origin settings.
+         */
+        private final Settings origin;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         */
+        protected Wrap(final Settings origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public Optional<Proxy> proxy() {
+            return this.origin.proxy();
+        }
+
+        @Override
+        public boolean trustAll() {
+            return this.origin.trustAll();
+        }
+
+        @Override
+        public boolean followRedirects() {
+            return this.origin.followRedirects();
+        }
+
+        @Override
+        public long connectTimeout() {
+            return this.origin.connectTimeout();
+        }
+
+        @Override
+        public long idleTimeout() {
+            return this.origin.idleTimeout();
+        }
+
+        @Override
+        public Transport transport() {
+            return this.origin.transport();
+        }
+
+        @Override
+        public Http2 http2() {
+            return this.origin.http2();
+        }
+
+        @Override
+        public int maxConnectionsPerDestination() {
+            return this.origin.maxConnectionsPerDestination();
+        }
+
+        @Override
+        public int maxRequestsQueuedPerDestination() {
+            return this.origin.maxRequestsQueuedPerDestination();
+        }
+
+        @Override
+        public Map<String, Integer> maxConnectionsPerHost() {
+            return this.origin.maxConnectionsPerHost();
+        }
+
+        @Override
+        public PoolStrategy poolStrategy() {
+            return this.origin.poolStrategy();
+        }
+
+        @Override
+        public Map<String, PoolStrategy> poolStrategyPerHost() {
+            return this.origin.poolStrategyPerHost();
+        }
+
+        @Override
+        public List<URI> warmUpDestinations() {
+            return this.origin.warmUpDestinations();
+        }
+
+        @Override
+        public int warmUpConnections() {
+            return this.origin.warmUpConnections();
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return this.origin.executor();
+        }
+
+        @Override
+        public Threads threads() {
+            return this.origin.threads();
+        }
+
+        @Override
+        public int selectors() {
+            return this.origin.selectors();
+        }
+
+        @Override
+        public Buffers buffers() {
+            return this.origin.buffers();
+        }
+
+        @Override
+        public Socket socket() {
+            return this.origin.socket();
+        }
+
+        @Override
+        public Dns dns() {
+            return this.origin.dns();
+        }
+
+        @Override
+        public long connectAttemptDelay() {
+            return this.origin.connectAttemptDelay();
+        }
+
+        @Override
+        public long requestTimeout() {
+            return this.origin.requestTimeout();
+        }
+
+        @Override
+        public long tlsHandshakeTimeout() {
+            return this.origin.tlsHandshakeTimeout();
+        }
+
+        @Override
+        public long firstByteTimeout() {
+            return this.origin.firstByteTimeout();
+        }
+
+        @Override
+        public long drainLimit() {
+            return this.origin.drainLimit();
+        }
+    }
+
+    /**
+     * Settings that add proxy to origin {@link Settings}.
+     *
+     * @since 0.1
+     */
+    final class WithProxy extends Settings.Wrap {
+
+        /**
+         * Proxy.
+         */
+        private final Proxy prx;
+
+        /**
+         * Ctor.
+         *
+         * @param prx Proxy.
+         */
+        public WithProxy(final Proxy prx) {
+            this(new Settings.Default(), prx);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param prx Proxy.
+         */
+        public WithProxy(final Settings origin, final Proxy prx) {
+            super(origin);
+            this.prx = prx;
+        }
+
+        @Override
+        public Optional<Proxy> proxy() {
+            return Optional.of(this.prx);
+        }
+    }
+
+    /**
+     * Settings that add trust all setting to origin {@link Settings}.
+     *
+     * @since 0.1
+     */
+    final class WithTrustAll extends Settings.Wrap {
+
+        /**
+         * Trust all setting.
+         */
+        private final boolean trust;
+
+        /**
+         * Ctor.
+         *
+         * @param trust Trust all setting.
+         */
+        public WithTrustAll(final boolean trust) {
+            this(new Settings.Default(), trust);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param trust Trust all setting.
+         */
+        public WithTrustAll(final Settings origin, final boolean trust) {
+            super(origin);
+            this.trust = trust;
+        }
+
+        @Override
+        public boolean trustAll() {
+            return this.trust;
+        }
+    }
+
+    /**
+     * Settings that add follow redirect setting to origin {@link Settings}.
+     *
+     * @since 0.1
+     */
+    final class WithFollowRedirects extends Settings.Wrap {
+
+        /**
+         * Follow redirect setting.
+         */
+        private final boolean redirect;
+
+        /**
+         * Ctor.
+         *
+         * @param redirect Follow redirect setting.
+         */
+        public WithFollowRedirects(final boolean redirect) {
+            this(new Settings.Default(), redirect);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param redirect Follow redirect setting.
+         */
+        public WithFollowRedirects(final Settings origin, final boolean redirect) {
+            super(origin);
+            this.redirect = redirect;
+        }
+
+        @Override
+        public boolean followRedirects() {
+            return this.redirect;
+        }
+    }
+
+    /**
+     * Settings that add connect timeout setting to origin {@link Settings}.
+     *
+     * @since 0.2
+     */
+    final class WithConnectTimeout extends Settings.Wrap {
+
+        /**
+         * Connect timeout setting.
+         */
+        private final long millis;
+
+        /**
+         * Ctor.
+         *
+         * @param timeout Connect timeout.
+         * @param unit The time unit of the timeout argument.
+         */
+        public WithConnectTimeout(final long timeout, final TimeUnit unit) {
+            this(unit.toMillis(timeout));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param timeout Connect timeout.
+         * @param unit The time unit of the timeout argument.
+         */
+        public WithConnectTimeout(final Settings origin, final long timeout, final TimeUnit unit) {
+            this(origin, unit.toMillis(timeout));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param millis Connect timeout in milliseconds.
+         */
+        public WithConnectTimeout(final long millis) {
+            this(new Settings.Default(), millis);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param millis Connect timeout setting.
+         */
+        public WithConnectTimeout(final Settings origin, final long millis) {
+            super(origin);
+            this.millis = millis;
+        }
+
+        @Override
+        public long connectTimeout() {
+            return this.millis;
+        }
+    }
+
+    /**
+     * Settings that add idle timeout setting to origin {@link Settings}.
+     *
+     * @since 0.2
+     */
+    final class WithIdleTimeout extends Settings.Wrap {
+
+        /**
+         * Idle timeout setting.
+         */
+        private final long millis;
+
+        /**
+         * Ctor.
+         *
+         * @param timeout Idle timeout.
+         * @param unit The time unit of the timeout argument.
+         */
+        public WithIdleTimeout(final long timeout, final TimeUnit unit) {
+            this(unit.toMillis(timeout));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param timeout Idle timeout.
+         * @param unit The time unit of the timeout argument.
+         */
+        public WithIdleTimeout(final Settings origin, final long timeout, final TimeUnit unit) {
+            this(origin, unit.toMillis(timeout));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param millis Idle timeout in milliseconds.
+         */
+        public WithIdleTimeout(final long millis) {
+            this(new Settings.Default(), millis);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param millis Idle timeout setting.
+         */
+        public WithIdleTimeout(final Settings origin, final long millis) {
+            super(origin);
+            this.millis = millis;
+        }
+
+        @Override
+        public long idleTimeout() {
+            return this.millis;
+        }
+    }
+
+    /**
+     * Settings that add transport setting to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithTransport extends Settings.Wrap {
+
+        /**
+         * Transport setting.
+         */
+        private final Transport protocol;
+
+        /**
+         * Ctor.
+         *
+         * @param protocol Transport setting.
+         */
+        public WithTransport(final Transport protocol) {
+            this(new Settings.Default(), protocol);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param protocol Transport setting.
+         */
+        public WithTransport(final Settings origin, final Transport protocol) {
+            super(origin);
+            this.protocol = protocol;
+        }
+
+        @Override
+        public Transport transport() {
+            return this.protocol;
+        }
+    }
+
+    /**
+     * Settings that add HTTP/2 settings to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithHttp2 extends Settings.Wrap {
+
+        /**
+         * HTTP/2 settings.
+         */
+        private final Http2 htwo;
+
+        /**
+         * Ctor.
+         *
+         * @param htwo HTTP/2 settings.
+         */
+        public WithHttp2(final Http2 htwo) {
+            this(new Settings.Default(), htwo);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param htwo HTTP/2 settings.
+         */
+        public WithHttp2(final Settings origin, final Http2 htwo) {
+            super(origin);
+            this.htwo = htwo;
+        }
+
+        @Override
+        public Http2 http2() {
+            return this.htwo;
+        }
+    }
+
+    /**
+     * Settings that add max connections per destination setting to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithMaxConnections extends Settings.Wrap {
+
+        /**
+         * Max connections per destination.
+         */
+        private final int max;
+
+        /**
+         * Ctor.
+         *
+         * @param max Max connections per destination.
+         */
+        public WithMaxConnections(final int max) {
+            this(new Settings.Default(), max);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param max Max connections per destination.
+         */
+        public WithMaxConnections(final Settings origin, final int max) {
+            super(origin);
+            this.max = max;
+        }
+
+        @Override
+        public int maxConnectionsPerDestination() {
+            return this.max;
+        }
+    }
+
+    /**
+     * Settings that add max queued requests per destination setting
+     * to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithMaxQueued extends Settings.Wrap {
+
+        /**
+         * Max queued requests per destination.
+         */
+        private final int max;
+
+        /**
+         * Ctor.
+         *
+         * @param max Max queued requests per destination.
+         */
+        public WithMaxQueued(final int max) {
+            this(new Settings.Default(), max);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param max Max queued requests per destination.
+         */
+        public WithMaxQueued(final Settings origin, final int max) {
+            super(origin);
+            this.max = max;
+        }
+
+        @Override
+        public int maxRequestsQueuedPerDestination() {
+            return this.max;
+        }
+    }
+
+    /**
+     * Settings that override max connections for specific host in origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithHostMaxConnections extends Settings.Wrap {
+
+        /**
+         * Host name.
+         */
+        private final String host;
+
+        /**
+         * Max connections to the host.
+         */
+        private final int max;
+
+        /**
+         * Ctor.
+         *
+         * @param host Host name.
+         * @param max Max connections to the host.
+         */
+        public WithHostMaxConnections(final String host, final int max) {
+            this(new Settings.Default(), host, max);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param host Host name.
+         * @param max Max connections to the host.
+         */
+        public WithHostMaxConnections(final Settings origin, final String host, final int max) {
+            super(origin);
+            this.host = host;
+            this.max = max;
+        }
+
+        @Override
+        public Map<String, Integer> maxConnectionsPerHost() {
+            final Map<String, Integer> hosts = new HashMap<>(super.maxConnectionsPerHost());
+            hosts.put(this.host, this.max);
+            return Collections.unmodifiableMap(hosts);
+        }
+    }
+
+    /**
+     * Settings that add connection pool strategy setting to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithPoolStrategy extends Settings.Wrap {
+
+        /**
+         * Connection pool strategy.
+         */
+        private final PoolStrategy strategy;
+
+        /**
+         * Ctor.
+         *
+         * @param strategy Connection pool strategy.
+         */
+        public WithPoolStrategy(final PoolStrategy strategy) {
+            this(new Settings.Default(), strategy);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param strategy Connection pool strategy.
+         */
+        public WithPoolStrategy(final Settings origin, final PoolStrategy strategy) {
+            super(origin);
+            this.strategy = strategy;
+        }
+
+        @Override
+        public PoolStrategy poolStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Settings that override connection pool strategy for specific host
+     * in origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithHostPoolStrategy extends Settings.Wrap {
+
+        /**
+         * Host name.
+         */
+        private final String host;
+
+        /**
+         * Connection pool strategy for the host.
+         */
+        private final PoolStrategy strategy;
+
+        /**
+         * Ctor.
+         *
+         * @param host Host name.
+         * @param strategy Connection pool strategy for the host.
+         */
+        public WithHostPoolStrategy(final String host, final PoolStrategy strategy) {
+            this(new Settings.Default(), host, strategy);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param host Host name.
+         * @param strategy Connection pool strategy for the host.
+         */
+        public WithHostPoolStrategy(
+            final Settings origin,
+            final String host,
+            final PoolStrategy strategy
+        ) {
+            super(origin);
+            this.host = host;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public Map<String, PoolStrategy> poolStrategyPerHost() {
+            final Map<String, PoolStrategy> hosts = new HashMap<>(
+                super.poolStrategyPerHost()
+            );
+            hosts.put(this.host, this.strategy);
+            return Collections.unmodifiableMap(hosts);
+        }
+    }
+
+    /**
+     * Settings that add warm up destinations and connections number to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithWarmUp extends Settings.Wrap {
+
+        /**
+         * Number of connections per destination.
+         */
+        private final int connections;
+
+        /**
+         * Warm up destinations.
+         */
+        private final List<URI> destinations;
+
+        /**
+         * Ctor.
+         *
+         * @param connections Number of connections per destination.
+         * @param destinations Warm up destinations.
+         */
+        public WithWarmUp(final int connections, final URI... destinations) {
+            this(new Settings.Default(), connections, destinations);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param connections Number of connections per destination.
+         * @param destinations Warm up destinations.
+         */
+        public WithWarmUp(
+            final Settings origin,
+            final int connections,
+            final URI... destinations
+        ) {
+            this(origin, connections, Arrays.asList(destinations));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param connections Number of connections per destination.
+         * @param destinations Warm up destinations.
+         */
+        public WithWarmUp(
+            final Settings origin,
+            final int connections,
+            final List<URI> destinations
+        ) {
+            super(origin);
+            this.connections = connections;
+            this.destinations = destinations;
+        }
+
+        @Override
+        public List<URI> warmUpDestinations() {
+            return Collections.unmodifiableList(this.destinations);
+        }
+
+        @Override
+        public int warmUpConnections() {
+            return this.connections;
+        }
+    }
+
+    /**
+     * Settings that add executor to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithExecutor extends Settings.Wrap {
+
+        /**
+         * Executor.
+         */
+        private final Executor exec;
+
+        /**
+         * Ctor.
+         *
+         * @param exec Executor.
+         */
+        public WithExecutor(final Executor exec) {
+            this(new Settings.Default(), exec);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param exec Executor.
+         */
+        public WithExecutor(final Settings origin, final Executor exec) {
+            super(origin);
+            this.exec = exec;
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return Optional.of(this.exec);
+        }
+    }
+
+    /**
+     * Settings that add thread pool settings to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithThreads extends Settings.Wrap {
+
+        /**
+         * Thread pool settings.
+         */
+        private final Threads pool;
+
+        /**
+         * Ctor.
+         *
+         * @param pool Thread pool settings.
+         */
+        public WithThreads(final Threads pool) {
+            this(new Settings.Default(), pool);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param pool Thread pool settings.
+         */
+        public WithThreads(final Settings origin, final Threads pool) {
+            super(origin);
+            this.pool = pool;
         }
 
         @Override
-        public long idleTimeout() {
-            return 0L;
+        public Threads threads() {
+            return this.pool;
         }
     }
 
     /**
-     * Settings that add proxy to origin {@link Settings}.
+     * Settings that add selectors number to origin {@link Settings}.
      *
-     * @since 0.1
+     * @since 0.4
      */
-    final class WithProxy implements Settings {
-
-        /**
-         * Origin settings.
-         */
-        private final Settings origin;
+    final class WithSelectors extends Settings.Wrap {
 
         /**
-         * Proxy.
+         * Selectors number.
          */
-        private final Proxy prx;
+        private final int count;
 
         /**
          * Ctor.
          *
-         * @param prx Proxy.
+         * @param count Selectors number.
          */
-        public WithProxy(final Proxy prx) {
-            this(new Settings.Default(), prx);
+        public WithSelectors(final int count) {
+            this(new Settings.Default(), count);
         }
 
         /**
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param prx Proxy.
+         * @param count Selectors number.
          */
-        public WithProxy(final Settings origin, final Proxy prx) {
-            this.origin = origin;
-            this.prx = prx;
+        public WithSelectors(final Settings origin, final int count) {
+            super(origin);
+            this.count = count;
         }
 
         @Override
-        public Optional<Proxy> proxy() {
-            return Optional.of(this.prx);
+        public int selectors() {
+            return this.count;
         }
+    }
 
-        @Override
-        public boolean trustAll() {
-            return this.origin.trustAll();
-        }
+    /**
+     * Settings that add buffers settings to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithBuffers extends Settings.Wrap {
 
-        @Override
-        public boolean followRedirects() {
-            return this.origin.followRedirects();
+        /**
+         * Buffers settings.
+         */
+        private final Buffers bfrs;
+
+        /**
+         * Ctor.
+         *
+         * @param bfrs Buffers settings.
+         */
+        public WithBuffers(final Buffers bfrs) {
+            this(new Settings.Default(), bfrs);
         }
 
-        @Override
-        public long connectTimeout() {
-            return this.origin.connectTimeout();
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param bfrs Buffers settings.
+         */
+        public WithBuffers(final Settings origin, final Buffers bfrs) {
+            super(origin);
+            this.bfrs = bfrs;
         }
 
         @Override
-        public long idleTimeout() {
-            return this.origin.idleTimeout();
+        public Buffers buffers() {
+            return this.bfrs;
         }
     }
 
     /**
-     * Settings that add trust all setting to origin {@link Settings}.
+     * Settings that add socket options to origin {@link Settings}.
      *
-     * @since 0.1
+     * @since 0.4
      */
-    final class WithTrustAll implements Settings {
-
-        /**
-         * Origin settings.
-         */
-        private final Settings origin;
+    final class WithSocket extends Settings.Wrap {
 
         /**
-         * Trust all setting.
+         * Socket options.
          */
-        private final boolean trust;
+        private final Socket options;
 
         /**
          * Ctor.
          *
-         * @param trust Trust all setting.
+         * @param options Socket options.
          */
-        public WithTrustAll(final boolean trust) {
-            this(new Settings.Default(), trust);
+        public WithSocket(final Socket options) {
+            this(new Settings.Default(), options);
         }
 
         /**
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param trust Trust all setting.
+         * @param options Socket options.
          */
-        public WithTrustAll(final Settings origin, final boolean trust) {
-            this.origin = origin;
-            this.trust = trust;
+        public WithSocket(final Settings origin, final Socket options) {
+            super(origin);
+            this.options = options;
         }
 
         @Override
-        public Optional<Proxy> proxy() {
-            return this.origin.proxy();
+        public Socket socket() {
+            return this.options;
         }
+    }
 
-        @Override
-        public boolean trustAll() {
-            return this.trust;
-        }
+    /**
+     * Settings that add DNS settings to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithDns extends Settings.Wrap {
 
-        @Override
-        public boolean followRedirects() {
-            return this.origin.followRedirects();
+        /**
+         * DNS settings.
+         */
+        private final Dns resolution;
+
+        /**
+         * Ctor.
+         *
+         * @param resolution DNS settings.
+         */
+        public WithDns(final Dns resolution) {
+            this(new Settings.Default(), resolution);
         }
 
-        @Override
-        public long connectTimeout() {
-            return this.origin.connectTimeout();
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param resolution DNS settings.
+         */
+        public WithDns(final Settings origin, final Dns resolution) {
+            super(origin);
+            this.resolution = resolution;
         }
 
         @Override
-        public long idleTimeout() {
-            return this.origin.idleTimeout();
+        public Dns dns() {
+            return this.resolution;
         }
     }
 
     /**
-     * Settings that add follow redirect setting to origin {@link Settings}.
+     * Settings that add connection attempt delay setting to origin {@link Settings}.
      *
-     * @since 0.1
+     * @since 0.4
      */
-    final class WithFollowRedirects implements Settings {
+    final class WithConnectAttemptDelay extends Settings.Wrap {
 
         /**
-         * Origin settings.
-         */
-        private final Settings origin;
-
-        /**
-         * Follow redirect setting.
+         * Connection attempt delay setting.
          */
-        private final boolean redirect;
+        private final long millis;
 
         /**
          * Ctor.
          *
-         * @param redirect Follow redirect setting.
+         * @param delay Connection attempt delay.
+         * @param unit The time unit of the delay argument.
          */
-        public WithFollowRedirects(final boolean redirect) {
-            this(new Settings.Default(), redirect);
+        public WithConnectAttemptDelay(final long delay, final TimeUnit unit) {
+            this(unit.toMillis(delay));
         }
 
         /**
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param redirect Follow redirect setting.
+         * @param delay Connection attempt delay.
+         * @param unit The time unit of the delay argument.
          */
-        public WithFollowRedirects(final Settings origin, final boolean redirect) {
-            this.origin = origin;
-            this.redirect = redirect;
-        }
-
-        @Override
-        public Optional<Proxy> proxy() {
-            return this.origin.proxy();
-        }
-
-        @Override
-        public boolean trustAll() {
-            return this.origin.trustAll();
+        public WithConnectAttemptDelay(
+            final Settings origin,
+            final long delay,
+            final TimeUnit unit
+        ) {
+            this(origin, unit.toMillis(delay));
         }
 
-        @Override
-        public boolean followRedirects() {
-            return this.redirect;
+        /**
+         * Ctor.
+         *
+         * @param millis Connection attempt delay in milliseconds.
+         */
+        public WithConnectAttemptDelay(final long millis) {
+            this(new Settings.Default(), millis);
         }
 
-        @Override
-        public long connectTimeout() {
-            return this.origin.connectTimeout();
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param millis Connection attempt delay in milliseconds.
+         */
+        public WithConnectAttemptDelay(final Settings origin, final long millis) {
+            super(origin);
+            this.millis = millis;
         }
 
         @Override
-        public long idleTimeout() {
-            return this.origin.idleTimeout();
+        public long connectAttemptDelay() {
+            return this.millis;
         }
     }
 
     /**
-     * Settings that add connect timeout setting to origin {@link Settings}.
+     * Settings that add request timeout setting to origin {@link Settings}.
      *
-     * @since 0.2
+     * @since 0.4
      */
-    final class WithConnectTimeout implements Settings {
-
-        /**
-         * Origin settings.
-         */
-        private final Settings origin;
+    final class WithRequestTimeout extends Settings.Wrap {
 
         /**
-         * Connect timeout setting.
+         * Request timeout setting.
          */
         private final long millis;
 
         /**
          * Ctor.
          *
-         * @param timeout Connect timeout.
+         * @param timeout Request timeout.
          * @param unit The time unit of the timeout argument.
          */
-        public WithConnectTimeout(final long timeout, final TimeUnit unit) {
+        public WithRequestTimeout(final long timeout, final TimeUnit unit) {
             this(unit.toMillis(timeout));
         }
 
@@ -407,19 +2219,21 @@ public interface Settings {
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param timeout Connect timeout.
+         * @param timeout Request timeout.
          * @param unit The time unit of the timeout argument.
          */
-        public WithConnectTimeout(final Settings origin, final long timeout, final TimeUnit unit) {
+        public WithRequestTimeout(
+            final Settings origin, final long timeout, final TimeUnit unit
+        ) {
             this(origin, unit.toMillis(timeout));
         }
 
         /**
          * Ctor.
          *
-         * @param millis Connect timeout in milliseconds.
+         * @param millis Request timeout in milliseconds.
          */
-        public WithConnectTimeout(final long millis) {
+        public WithRequestTimeout(final long millis) {
             this(new Settings.Default(), millis);
         }
 
@@ -427,63 +2241,99 @@ public interface Settings {
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param millis Connect timeout setting.
+         * @param millis Request timeout setting.
          */
-        public WithConnectTimeout(final Settings origin, final long millis) {
-            this.origin = origin;
+        public WithRequestTimeout(final Settings origin, final long millis) {
+            super(origin);
             this.millis = millis;
         }
 
         @Override
-        public Optional<Proxy> proxy() {
-            return this.origin.proxy();
+        public long requestTimeout() {
+            return this.millis;
         }
+    }
 
-        @Override
-        public boolean trustAll() {
-            return this.origin.trustAll();
+    /**
+     * Settings that add TLS handshake timeout setting to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithTlsHandshakeTimeout extends Settings.Wrap {
+
+        /**
+         * TLS handshake timeout setting.
+         */
+        private final long millis;
+
+        /**
+         * Ctor.
+         *
+         * @param timeout TLS handshake timeout.
+         * @param unit The time unit of the timeout argument.
+         */
+        public WithTlsHandshakeTimeout(final long timeout, final TimeUnit unit) {
+            this(unit.toMillis(timeout));
         }
 
-        @Override
-        public boolean followRedirects() {
-            return this.origin.followRedirects();
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param timeout TLS handshake timeout.
+         * @param unit The time unit of the timeout argument.
+         */
+        public WithTlsHandshakeTimeout(
+            final Settings origin, final long timeout, final TimeUnit unit
+        ) {
+            this(origin, unit.toMillis(timeout));
         }
 
-        @Override
-        public long connectTimeout() {
-            return this.millis;
+        /**
+         * Ctor.
+         *
+         * @param millis TLS handshake timeout in milliseconds.
+         */
+        public WithTlsHandshakeTimeout(final long millis) {
+            this(new Settings.Default(), millis);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param millis TLS handshake timeout setting.
+         */
+        public WithTlsHandshakeTimeout(final Settings origin, final long millis) {
+            super(origin);
+            this.millis = millis;
         }
 
         @Override
-        public long idleTimeout() {
-            return this.origin.idleTimeout();
+        public long tlsHandshakeTimeout() {
+            return this.millis;
         }
     }
 
     /**
-     * Settings that add idle timeout setting to origin {@link Settings}.
+     * Settings that add first byte timeout setting to origin {@link Settings}.
      *
-     * @since 0.2
+     * @since 0.4
      */
-    final class WithIdleTimeout implements Settings {
-
-        /**
-         * Origin settings.
-         */
-        private final Settings origin;
+    final class WithFirstByteTimeout extends Settings.Wrap {
 
         /**
-         * Idle timeout setting.
+         * First byte timeout setting.
          */
         private final long millis;
 
         /**
          * Ctor.
          *
-         * @param timeout Idle timeout.
+         * @param timeout First byte timeout.
          * @param unit The time unit of the timeout argument.
          */
-        public WithIdleTimeout(final long timeout, final TimeUnit unit) {
+        public WithFirstByteTimeout(final long timeout, final TimeUnit unit) {
             this(unit.toMillis(timeout));
         }
 
@@ -491,19 +2341,21 @@ public interface Settings {
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param timeout Idle timeout.
+         * @param timeout First byte timeout.
          * @param unit The time unit of the timeout argument.
          */
-        public WithIdleTimeout(final Settings origin, final long timeout, final TimeUnit unit) {
+        public WithFirstByteTimeout(
+            final Settings origin, final long timeout, final TimeUnit unit
+        ) {
             this(origin, unit.toMillis(timeout));
         }
 
         /**
          * Ctor.
          *
-         * @param millis Idle timeout in milliseconds.
+         * @param millis First byte timeout in milliseconds.
          */
-        public WithIdleTimeout(final long millis) {
+        public WithFirstByteTimeout(final long millis) {
             this(new Settings.Default(), millis);
         }
 
@@ -511,36 +2363,54 @@ public interface Settings {
          * Ctor.
          *
          * @param origin Origin settings.
-         * @param millis Idle timeout setting.
+         * @param millis First byte timeout setting.
          */
-        public WithIdleTimeout(final Settings origin, final long millis) {
-            this.origin = origin;
+        public WithFirstByteTimeout(final Settings origin, final long millis) {
+            super(origin);
             this.millis = millis;
         }
 
         @Override
-        public Optional<Proxy> proxy() {
-            return this.origin.proxy();
+        public long firstByteTimeout() {
+            return this.millis;
         }
+    }
 
-        @Override
-        public boolean trustAll() {
-            return this.origin.trustAll();
-        }
+    /**
+     * Settings that add drain limit setting to origin {@link Settings}.
+     *
+     * @since 0.4
+     */
+    final class WithDrainLimit extends Settings.Wrap {
 
-        @Override
-        public boolean followRedirects() {
-            return this.origin.followRedirects();
+        /**
+         * Drain limit in bytes.
+         */
+        private final long limit;
+
+        /**
+         * Ctor.
+         *
+         * @param limit Drain limit in bytes.
+         */
+        public WithDrainLimit(final long limit) {
+            this(new Settings.Default(), limit);
         }
 
-        @Override
-        public long connectTimeout() {
-            return this.origin.connectTimeout();
+        /**
+         * Ctor.
+         *
+         * @param origin Origin settings.
+         * @param limit Drain limit in bytes.
+         */
+        public WithDrainLimit(final Settings origin, final long limit) {
+            super(origin);
+            this.limit = limit;
         }
 
         @Override
-        public long idleTimeout() {
-            return this.millis;
+        public long drainLimit() {
+            return this.limit;
         }
     }
 }
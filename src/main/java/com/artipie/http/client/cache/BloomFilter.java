@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings, answers whether string might have been added
+ * or definitely was not added. Strings can not be removed, filter may be only cleared.
+ *
+ * @since 0.4
+ */
+final class BloomFilter {
+
+    /**
+     * FNV-1a 64-bit offset basis.
+     */
+    private static final long OFFSET = 0xcbf29ce484222325L;
+
+    /**
+     * FNV-1a 64-bit prime.
+     */
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * Filter bits.
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * Number of bits.
+     */
+    private final long size;
+
+    /**
+     * Number of hash functions.
+     */
+    private final int hashes;
+
+    /**
+     * Ctor.
+     *
+     * @param expected Expected number of strings.
+     * @param fpp Desired false positive probability.
+     */
+    BloomFilter(final int expected, final double fpp) {
+        final double ln = Math.log(2);
+        final long total = Math.max(
+            Long.SIZE, (long) Math.ceil(-expected * Math.log(fpp) / (ln * ln))
+        );
+        this.bits = new AtomicLongArray((int) ((total + Long.SIZE - 1) / Long.SIZE));
+        this.size = (long) this.bits.length() * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round(ln * total / Math.max(1, expected)));
+    }
+
+    /**
+     * Add string to filter.
+     *
+     * @param value String.
+     */
+    void add(final String value) {
+        final long hash = BloomFilter.hash(value);
+        for (int idx = 0; idx < this.hashes; idx += 1) {
+            final long bit = this.bit(hash, idx);
+            final int word = (int) (bit / Long.SIZE);
+            final long mask = 1L << (bit % Long.SIZE);
+            long prev = this.bits.get(word);
+            while ((prev & mask) == 0 && !this.bits.compareAndSet(word, prev, prev | mask)) {
+                prev = this.bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Check string might have been added.
+     *
+     * @param value String.
+     * @return False if string definitely was not added.
+     */
+    boolean mightContain(final String value) {
+        final long hash = BloomFilter.hash(value);
+        boolean result = true;
+        for (int idx = 0; idx < this.hashes && result; idx += 1) {
+            final long bit = this.bit(hash, idx);
+            result = (this.bits.get((int) (bit / Long.SIZE)) & 1L << (bit % Long.SIZE)) != 0;
+        }
+        return result;
+    }
+
+    /**
+     * Remove all strings from filter.
+     */
+    void clear() {
+        for (int idx = 0; idx < this.bits.length(); idx += 1) {
+            this.bits.set(idx, 0L);
+        }
+    }
+
+    /**
+     * Bit index for hash function using double hashing.
+     *
+     * @param hash String hash.
+     * @param idx Hash function index.
+     * @return Bit index.
+     */
+    private long bit(final long hash, final int idx) {
+        // @checkstyle MagicNumberCheck (1 line)
+        final long combined = (int) hash + idx * (int) (hash >>> 32);
+        return Math.floorMod(combined, this.size);
+    }
+
+    /**
+     * FNV-1a 64-bit hash of string.
+     *
+     * @param value String.
+     * @return Hash.
+     */
+    private static long hash(final String value) {
+        long hash = BloomFilter.OFFSET;
+        for (final byte octet : value.getBytes(StandardCharsets.UTF_8)) {
+            // @checkstyle MagicNumberCheck (1 line)
+            hash ^= octet & 0xff;
+            hash *= BloomFilter.PRIME;
+        }
+        return hash;
+    }
+}
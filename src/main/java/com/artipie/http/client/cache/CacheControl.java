@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.rq.RqHeaders;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache-Control header directives.
+ * See <a href="https://tools.ietf.org/html/rfc7234#section-5.2">RFC 7234, section 5.2</a>.
+ *
+ * @since 0.4
+ */
+final class CacheControl {
+
+    /**
+     * Header name.
+     */
+    static final String NAME = "Cache-Control";
+
+    /**
+     * Directive values by lower case directive names, empty for directives without value.
+     */
+    private final Map<String, String> directives;
+
+    /**
+     * Ctor.
+     *
+     * @param headers Request or response headers.
+     */
+    CacheControl(final Iterable<Map.Entry<String, String>> headers) {
+        this.directives = new HashMap<>();
+        for (final String value : new RqHeaders(headers, CacheControl.NAME)) {
+            for (final String directive : value.split(",")) {
+                final String[] parts = directive.trim().split("=", 2);
+                final String name = parts[0].trim().toLowerCase(Locale.US);
+                if (!name.isEmpty()) {
+                    final String arg;
+                    if (parts.length > 1) {
+                        arg = parts[1].trim().replace("\"", "");
+                    } else {
+                        arg = "";
+                    }
+                    this.directives.put(name, arg);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check directive is present.
+     *
+     * @param name Directive name.
+     * @return True if directive is present.
+     */
+    boolean has(final String name) {
+        return this.directives.containsKey(name);
+    }
+
+    /**
+     * Read directive value in seconds, like `max-age=60`.
+     *
+     * @param name Directive name.
+     * @return Seconds if directive is present and has valid value, empty otherwise.
+     */
+    Optional<Long> seconds(final String name) {
+        final String value = this.directives.get(name);
+        final Optional<Long> result;
+        if (value != null && value.matches("\\d{1,18}")) {
+            result = Optional.of(Long.parseLong(value));
+        } else {
+            result = Optional.empty();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache statistics.
+ * Hits and misses are recorded by {@link CachingSlice},
+ * evictions are recorded by {@link MemoryCache}, both may share same statistics.
+ *
+ * @since 0.4
+ */
+public final class CacheStats {
+
+    /**
+     * Number of requests served from cache without contacting origin.
+     */
+    private final LongAdder hit;
+
+    /**
+     * Number of requests passed to origin since no usable response is cached.
+     */
+    private final LongAdder miss;
+
+    /**
+     * Number of evicted responses.
+     */
+    private final LongAdder evict;
+
+    /**
+     * Ctor.
+     */
+    public CacheStats() {
+        this.hit = new LongAdder();
+        this.miss = new LongAdder();
+        this.evict = new LongAdder();
+    }
+
+    /**
+     * Number of requests served from cache without contacting origin.
+     *
+     * @return Number of hits.
+     */
+    public long hits() {
+        return this.hit.sum();
+    }
+
+    /**
+     * Number of requests passed to origin since no usable response is cached.
+     *
+     * @return Number of misses.
+     */
+    public long misses() {
+        return this.miss.sum();
+    }
+
+    /**
+     * Number of responses evicted to free space for new ones.
+     *
+     * @return Number of evictions.
+     */
+    public long evictions() {
+        return this.evict.sum();
+    }
+
+    /**
+     * Record hit.
+     */
+    void onHit() {
+        this.hit.increment();
+    }
+
+    /**
+     * Record miss.
+     */
+    void onMiss() {
+        this.miss.increment();
+    }
+
+    /**
+     * Record eviction.
+     */
+    void onEviction() {
+        this.evict.increment();
+    }
+}
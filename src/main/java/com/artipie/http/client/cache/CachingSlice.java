@@ -0,0 +1,498 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice caching responses of origin slice as shared HTTP cache,
+ * see <a href="https://tools.ietf.org/html/rfc7234">RFC 7234</a>.
+ * Fresh cached responses to `GET` requests are served without contacting origin,
+ * stale cached responses with validators are revalidated by conditional request,
+ * storable responses received from origin are saved to cache.
+ * Other requests, including range requests, are passed to origin slice as is.
+ * If max staleness is configured, stale cached response is served at once while it
+ * is revalidated in background (`stale-while-revalidate`) and is served instead of
+ * failure or server error response from origin (`stale-if-error`),
+ * unless response forbids serving it stale.
+ * Requests served from cache without contacting origin are counted as hits,
+ * other `GET` requests which may be served from cache are counted as misses.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class CachingSlice implements Slice {
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Response cache.
+     */
+    private final ResponseCache cache;
+
+    /**
+     * Prefix of cache keys, distinguishing origins sharing same cache.
+     */
+    private final String namespace;
+
+    /**
+     * Max staleness of responses served stale, zero disables serving stale responses.
+     */
+    private final Duration stale;
+
+    /**
+     * Keys of responses being revalidated in background.
+     */
+    private final Set<String> refreshing;
+
+    /**
+     * Statistics.
+     */
+    private final CacheStats statistics;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param cache Response cache.
+     */
+    public CachingSlice(final Slice origin, final ResponseCache cache) {
+        this(origin, cache, "");
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param cache Response cache.
+     * @param namespace Prefix of cache keys, distinguishing origins sharing same cache.
+     */
+    public CachingSlice(final Slice origin, final ResponseCache cache, final String namespace) {
+        this(origin, cache, namespace, Duration.ZERO);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param cache Response cache.
+     * @param namespace Prefix of cache keys, distinguishing origins sharing same cache.
+     * @param stale Max staleness of responses served stale,
+     *  zero disables serving stale responses.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public CachingSlice(
+        final Slice origin, final ResponseCache cache, final String namespace, final Duration stale
+    ) {
+        this(origin, cache, namespace, stale, new CacheStats());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param cache Response cache.
+     * @param namespace Prefix of cache keys, distinguishing origins sharing same cache.
+     * @param stale Max staleness of responses served stale,
+     *  zero disables serving stale responses.
+     * @param stats Statistics of hits and misses.
+     * @checkstyle ParameterNumberCheck (7 lines)
+     */
+    public CachingSlice(
+        final Slice origin,
+        final ResponseCache cache,
+        final String namespace,
+        final Duration stale,
+        final CacheStats stats
+    ) {
+        this.origin = origin;
+        this.cache = cache;
+        this.namespace = namespace;
+        this.stale = stale;
+        this.refreshing = ConcurrentHashMap.newKeySet();
+        this.statistics = stats;
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @return Statistics.
+     */
+    public CacheStats stats() {
+        return this.statistics;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom req = new RequestLineFrom(line);
+        final CacheControl control = new CacheControl(headers);
+        final Response response;
+        if (req.method() == RqMethod.GET && !control.has("no-store")
+            && new RqHeaders(headers, "Range").isEmpty()) {
+            final String key = this.namespace + req.uri();
+            response = new AsyncResponse(
+                this.load(key).thenApply(
+                    found -> {
+                        final Instant now = Instant.now();
+                        final Optional<ResponseCache.Entry> matching = found.filter(
+                            entry -> entry.meta().matches(headers)
+                        );
+                        final Response result;
+                        if (matching.isPresent() && !control.has("no-cache")
+                            && matching.get().meta().fresh(now)) {
+                            this.statistics.onHit();
+                            result = new RsFull(
+                                matching.get().meta().status(),
+                                matching.get().meta().headers(now),
+                                matching.get().body()
+                            );
+                        } else if (matching.isPresent() && this.tolerable(
+                            matching.get().meta(), control, "stale-while-revalidate", now
+                        )) {
+                            this.statistics.onHit();
+                            this.refresh(key, line, headers, matching.get().meta());
+                            result = CachingSlice.stale(matching.get(), now);
+                        } else {
+                            this.statistics.onMiss();
+                            final Response fetched;
+                            if (matching.isPresent() && matching.get().meta().validated()) {
+                                fetched = this.revalidate(
+                                    key, line, headers, body, matching.get()
+                                );
+                            } else {
+                                fetched = this.fetch(key, line, headers, body);
+                            }
+                            if (matching.isPresent() && this.tolerable(
+                                matching.get().meta(), control, "stale-if-error", now
+                            )) {
+                                result = CachingSlice.fallback(fetched, matching.get());
+                            } else {
+                                result = fetched;
+                            }
+                        }
+                        return result;
+                    }
+                )
+            );
+        } else {
+            response = this.origin.response(line, headers, body);
+        }
+        return response;
+    }
+
+    /**
+     * Load cached response treating failure to load it as absence of response,
+     * so it is replaced by response fetched from origin. Response is not deleted here,
+     * since it may be replaced by valid one concurrently, cache decides whether
+     * response which fails to load is broken.
+     *
+     * @param key Cache key.
+     * @return Cached response if present and loaded.
+     */
+    private CompletionStage<Optional<ResponseCache.Entry>> load(final String key) {
+        return this.cache.load(key).exceptionally(ignored -> Optional.empty());
+    }
+
+    /**
+     * Check stale response may be served stale according to configured max staleness
+     * and response `Cache-Control` directive limiting staleness.
+     * Stale responses are never served if request has `no-cache` directive or response
+     * has `no-cache`, `must-revalidate` or `proxy-revalidate` directives.
+     *
+     * @param meta Response metadata.
+     * @param control Request cache control.
+     * @param directive Response directive limiting staleness.
+     * @param now Current time.
+     * @return True if response may be served stale.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private boolean tolerable(
+        final Metadata meta, final CacheControl control, final String directive, final Instant now
+    ) {
+        final CacheControl rscontrol = new CacheControl(meta.headers());
+        final long max = this.stale.getSeconds();
+        return max > 0
+            && !control.has("no-cache")
+            && !rscontrol.has("no-cache")
+            && !rscontrol.has("must-revalidate")
+            && !rscontrol.has("proxy-revalidate")
+            && meta.staleness(now) <= Math.min(rscontrol.seconds(directive).orElse(max), max);
+    }
+
+    /**
+     * Revalidate response in background unless it is already being revalidated.
+     * Response from origin is consumed only to update cache.
+     *
+     * @param key Cache key.
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param meta Stale response metadata.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private void refresh(
+        final String key,
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Metadata meta
+    ) {
+        if (this.refreshing.add(key)) {
+            final Response response;
+            if (meta.validated()) {
+                response = this.revalidate(
+                    key, line, headers, Flowable.empty(),
+                    new ResponseCache.Entry(meta, Flowable.empty())
+                );
+            } else {
+                response = this.fetch(key, line, headers, Flowable.empty());
+            }
+            response.send(
+                (status, rsheaders, rsbody) -> Flowable.fromPublisher(rsbody)
+                    .ignoreElements()
+                    .to(CompletableInterop.await())
+            ).handle(
+                (nothing, throwable) -> this.refreshing.remove(key)
+            );
+        }
+    }
+
+    /**
+     * Response serving cached response in case origin response fails
+     * before it is started or has server error status.
+     *
+     * @param fetched Response fetched from origin.
+     * @param entry Stale cached response.
+     * @return Response.
+     */
+    private static Response fallback(final Response fetched, final ResponseCache.Entry entry) {
+        return connection -> {
+            final AtomicBoolean accepted = new AtomicBoolean();
+            return fetched.send(
+                (status, headers, body) -> {
+                    final CompletionStage<Void> result;
+                    if (status.code().startsWith("5")) {
+                        result = CachingSlice.stale(entry, Instant.now()).send(connection);
+                    } else {
+                        accepted.set(true);
+                        result = connection.accept(status, headers, body);
+                    }
+                    return result;
+                }
+            ).handle(
+                (nothing, throwable) -> {
+                    final CompletionStage<Void> result;
+                    if (throwable == null) {
+                        result = CompletableFuture.allOf();
+                    } else if (accepted.get()) {
+                        final CompletableFuture<Void> failed = new CompletableFuture<>();
+                        failed.completeExceptionally(throwable);
+                        result = failed;
+                    } else {
+                        result = CachingSlice.stale(entry, Instant.now()).send(connection);
+                    }
+                    return result;
+                }
+            ).thenCompose(Function.identity());
+        };
+    }
+
+    /**
+     * Response serving stale cached response with warning.
+     *
+     * @param entry Cached response.
+     * @param now Current time.
+     * @return Response.
+     */
+    private static Response stale(final ResponseCache.Entry entry, final Instant now) {
+        final List<Map.Entry<String, String>> headers = entry.meta().headers(now);
+        headers.add(new Header("Warning", "110 - \"Response is Stale\""));
+        return new RsFull(entry.meta().status(), headers, entry.body());
+    }
+
+    /**
+     * Fetch response from origin and save it to cache if it is storable.
+     *
+     * @param key Cache key.
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param body Request body.
+     * @return Response.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    private Response fetch(
+        final String key,
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        return connection -> this.origin.response(line, headers, body).send(
+            (status, rsheaders, rsbody) -> this.store(
+                key, headers, connection, status, rsheaders, rsbody
+            )
+        );
+    }
+
+    /**
+     * Revalidate stale cached response sending conditional request to origin.
+     * If origin responds with `304 Not Modified` cached response metadata is refreshed
+     * and cached body is served, otherwise response from origin is served and stored.
+     *
+     * @param key Cache key.
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param body Request body.
+     * @param entry Stale cached response.
+     * @return Response.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    private Response revalidate(
+        final String key,
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body,
+        final ResponseCache.Entry entry
+    ) {
+        final List<Map.Entry<String, String>> conditional = StreamSupport
+            .stream(headers.spliterator(), false)
+            .filter(
+                header -> !"If-None-Match".equalsIgnoreCase(header.getKey())
+                    && !"If-Modified-Since".equalsIgnoreCase(header.getKey())
+            )
+            .collect(Collectors.toCollection(ArrayList::new));
+        conditional.addAll(entry.meta().conditions());
+        return connection -> this.origin.response(line, new Headers.From(conditional), body)
+            .send(
+                (status, rsheaders, rsbody) -> {
+                    final CompletionStage<Void> result;
+                    if (status == RsStatus.NOT_MODIFIED) {
+                        final Metadata meta = entry.meta().refreshed(rsheaders, Instant.now());
+                        result = this.cache.update(key, meta)
+                            .exceptionally(ignored -> null)
+                            .thenCompose(
+                                nothing -> new RsFull(
+                                    meta.status(), meta.headers(Instant.now()), entry.body()
+                                ).send(connection)
+                            );
+                    } else {
+                        result = this.store(
+                            key, headers, connection, status, rsheaders, rsbody
+                        );
+                    }
+                    return result;
+                }
+            );
+    }
+
+    /**
+     * Send origin response to connection saving it to cache if it is storable.
+     * Body is passed to connection and to cache as it is received,
+     * it is committed to cache only if connection receives whole body.
+     * Failure to save response does not fail the response.
+     *
+     * @param key Cache key.
+     * @param headers Request headers.
+     * @param connection Connection.
+     * @param status Origin response status.
+     * @param rsheaders Origin response headers.
+     * @param rsbody Origin response body.
+     * @return Completion of sending response.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    private CompletionStage<Void> store(
+        final String key,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Connection connection,
+        final RsStatus status,
+        final Iterable<Map.Entry<String, String>> rsheaders,
+        final Publisher<ByteBuffer> rsbody
+    ) {
+        final Metadata meta = new Metadata(status, rsheaders, headers, Instant.now());
+        final CompletionStage<Void> result;
+        if (CachingSlice.storable(meta, headers)) {
+            result = new Tee(rsbody, Tee.bodiless(RqMethod.GET, status)).send(
+                tee -> connection.accept(status, rsheaders, tee),
+                tee -> this.cache.save(key, meta, tee)
+            );
+        } else {
+            result = connection.accept(status, rsheaders, rsbody);
+        }
+        return result;
+    }
+
+    /**
+     * Check response may be stored by shared cache for the request.
+     * Responses to requests with `Authorization` header are stored
+     * only if response explicitly allows it.
+     *
+     * @param meta Response metadata.
+     * @param headers Request headers.
+     * @return True if response is storable.
+     */
+    private static boolean storable(
+        final Metadata meta, final Iterable<Map.Entry<String, String>> headers
+    ) {
+        final CacheControl control = new CacheControl(meta.headers());
+        return meta.storable()
+            && (
+                new RqHeaders(headers, "Authorization").isEmpty()
+                || control.has("public")
+                || control.has("s-maxage")
+                || control.has("must-revalidate")
+            );
+    }
+}
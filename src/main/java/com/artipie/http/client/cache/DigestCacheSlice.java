@@ -0,0 +1,359 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice caching content addressed by digest, like Docker registry blobs.
+ * Content at such paths never changes, so it is cached forever and served
+ * without revalidation. Content is stored by its digest only, so same blob
+ * requested through different repository names is stored and fetched once.
+ * Content is streamed to client while it is saved to storage, its digest is verified
+ * on the fly and content not matching its digest is never cached.
+ * Origin response headers are saved next to content and replayed with it,
+ * except headers describing connection or particular response like `Date`.
+ * Paths are recognized by patterns which should define named groups
+ * `alg` for digest algorithm name like `sha256` and `digest` for hex encoded digest.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class DigestCacheSlice implements Slice {
+
+    /**
+     * Pattern of Docker registry blob path.
+     */
+    public static final Pattern DOCKER_BLOB = Pattern.compile(
+        ".*/blobs/(?<alg>sha256|sha384|sha512):(?<digest>[a-f0-9]{64,128})"
+    );
+
+    /**
+     * Lower case names of origin response headers which are not saved:
+     * hop-by-hop headers, headers of particular response and length,
+     * which is taken from stored content.
+     */
+    private static final Collection<String> TRANSIENT = Arrays.asList(
+        "connection", "keep-alive", "transfer-encoding", "content-length",
+        "date", "age", "set-cookie"
+    );
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Storage for cached content.
+     */
+    private final Storage storage;
+
+    /**
+     * Patterns of digest addressed paths.
+     */
+    private final Collection<Pattern> patterns;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param storage Storage for cached content.
+     */
+    public DigestCacheSlice(final Slice origin, final Storage storage) {
+        this(origin, storage, Collections.singleton(DigestCacheSlice.DOCKER_BLOB));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param storage Storage for cached content.
+     * @param patterns Patterns of digest addressed paths.
+     */
+    public DigestCacheSlice(
+        final Slice origin, final Storage storage, final Collection<Pattern> patterns
+    ) {
+        this.origin = origin;
+        this.storage = storage;
+        this.patterns = new ArrayList<>(patterns);
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom req = new RequestLineFrom(line);
+        final RqMethod method = req.method();
+        final Optional<Matcher> matched = this.match(req.uri().getPath());
+        final Response response;
+        if (matched.isPresent() && (method == RqMethod.GET || method == RqMethod.HEAD)) {
+            final String alg = matched.get().group("alg").toLowerCase(Locale.US);
+            final String digest = matched.get().group("digest").toLowerCase(Locale.US);
+            final Key key = new Key.From("blobs", alg, digest.substring(0, 2), digest);
+            final Key meta = new Key.From("headers", alg, digest.substring(0, 2), digest);
+            response = new AsyncResponse(
+                this.storage.exists(key).thenApply(
+                    exists -> {
+                        final Response rsp;
+                        if (exists) {
+                            rsp = this.cached(key, meta, method);
+                        } else if (method == RqMethod.GET) {
+                            rsp = this.fetch(line, headers, body, key, meta, alg, digest);
+                        } else {
+                            rsp = this.origin.response(line, headers, body);
+                        }
+                        return rsp;
+                    }
+                )
+            );
+        } else {
+            response = this.origin.response(line, headers, body);
+        }
+        return response;
+    }
+
+    /**
+     * Find pattern matching path.
+     *
+     * @param path Request path.
+     * @return Matcher of first matching pattern if any.
+     */
+    private Optional<Matcher> match(final String path) {
+        return this.patterns.stream()
+            .map(pattern -> pattern.matcher(path))
+            .filter(Matcher::matches)
+            .findFirst();
+    }
+
+    /**
+     * Fetch content from origin passing it to connection while it is verified
+     * and saved to storage. Unsuccessful responses are passed as is and are not cached.
+     *
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param body Request body.
+     * @param key Storage key of content.
+     * @param meta Storage key of content headers.
+     * @param alg Digest algorithm name.
+     * @param digest Expected digest.
+     * @return Response.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private Response fetch(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body,
+        final Key key,
+        final Key meta,
+        final String alg,
+        final String digest
+    ) {
+        return connection -> this.origin.response(line, headers, body).send(
+            (status, rsheaders, rsbody) -> {
+                final CompletionStage<Void> sent;
+                if (status == RsStatus.OK) {
+                    sent = new Tee(rsbody).send(
+                        tee -> connection.accept(status, rsheaders, tee),
+                        tee -> this.save(
+                            key, meta, rsheaders, new VerifyingPublisher(tee, alg, digest)
+                        )
+                    );
+                } else {
+                    sent = connection.accept(status, rsheaders, rsbody);
+                }
+                return sent;
+            }
+        );
+    }
+
+    /**
+     * Save content to temporary key and move it in place if it is saved completely.
+     * Headers are saved before content is moved in place,
+     * so content is never served without them.
+     *
+     * @param key Storage key of content.
+     * @param meta Storage key of content headers.
+     * @param headers Origin response headers.
+     * @param content Content.
+     * @return Completion of saving.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Void> save(
+        final Key key,
+        final Key meta,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> content
+    ) {
+        final Key temp = new Key.From("temp", UUID.randomUUID().toString());
+        return this.storage.save(temp, new Content.From(content)).thenCompose(
+            nothing -> this.storage.save(meta, DigestCacheSlice.json(headers))
+        ).thenCompose(
+            nothing -> this.storage.move(temp, key)
+        ).handle(
+            (nothing, throwable) -> {
+                final CompletionStage<Void> res;
+                if (throwable == null) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    final CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(throwable);
+                    res = this.storage.delete(temp)
+                        .handle((deleted, ignored) -> deleted)
+                        .thenCompose(deleted -> failed);
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Serve cached content from storage with saved headers.
+     *
+     * @param key Storage key of content.
+     * @param meta Storage key of content headers.
+     * @param method Request method.
+     * @return Response.
+     */
+    private Response cached(final Key key, final Key meta, final RqMethod method) {
+        return new AsyncResponse(
+            this.headers(meta).thenCompose(
+                saved -> this.storage.value(key).thenApply(
+                    content -> {
+                        final List<Map.Entry<String, String>> headers = new ArrayList<>(saved);
+                        content.size().ifPresent(
+                            size -> headers.add(
+                                new Header("Content-Length", String.valueOf(size))
+                            )
+                        );
+                        final Response rsp;
+                        if (method == RqMethod.HEAD) {
+                            rsp = new RsWithHeaders(
+                                new RsWithStatus(RsStatus.OK), new Headers.From(headers)
+                            );
+                        } else {
+                            rsp = new RsFull(RsStatus.OK, new Headers.From(headers), content);
+                        }
+                        return rsp;
+                    }
+                )
+            )
+        );
+    }
+
+    /**
+     * Read saved headers of content, content saved without headers has none.
+     *
+     * @param meta Storage key of content headers.
+     * @return Saved headers.
+     */
+    private CompletionStage<List<Map.Entry<String, String>>> headers(final Key meta) {
+        return this.storage.exists(meta).thenCompose(
+            exists -> {
+                final CompletionStage<List<Map.Entry<String, String>>> result;
+                if (exists) {
+                    result = this.storage.value(meta)
+                        .thenCompose(
+                            content -> new PublisherAs(content).string(StandardCharsets.UTF_8)
+                        )
+                        .thenApply(
+                            json -> {
+                                final List<Map.Entry<String, String>> headers =
+                                    new ArrayList<>();
+                                for (final JsonObject header : Json.createReader(
+                                    new StringReader(json)
+                                ).readArray().getValuesAs(JsonObject.class)) {
+                                    headers.add(
+                                        new Header(
+                                            header.getString("name"), header.getString("value")
+                                        )
+                                    );
+                                }
+                                return headers;
+                            }
+                        );
+                } else {
+                    result = CompletableFuture.completedFuture(Collections.emptyList());
+                }
+                return result;
+            }
+        );
+    }
+
+    /**
+     * Serialize origin response headers to be saved to JSON, skipping transient ones.
+     *
+     * @param headers Origin response headers.
+     * @return JSON content.
+     */
+    private static Content json(final Iterable<Map.Entry<String, String>> headers) {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        for (final Map.Entry<String, String> header : headers) {
+            if (!DigestCacheSlice.TRANSIENT.contains(header.getKey().toLowerCase(Locale.US))) {
+                array.add(
+                    Json.createObjectBuilder()
+                        .add("name", header.getKey())
+                        .add("value", header.getValue())
+                );
+            }
+        }
+        return new Content.From(array.build().toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
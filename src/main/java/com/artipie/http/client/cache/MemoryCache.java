@@ -0,0 +1,260 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.rq.RqHeaders;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+
+/**
+ * Response cache keeping responses in memory.
+ * Total size of cached bodies and headers is limited by capacity,
+ * least recently used responses are evicted when capacity is exceeded.
+ * Saving response with body larger than capacity fails as soon as
+ * its `Content-Length` or received part of body exceeds capacity.
+ * Cache counts evictions only, hits and misses are counted by {@link CachingSlice}
+ * sharing same statistics, since only it decides whether cached response is served.
+ *
+ * @since 0.4
+ */
+public final class MemoryCache implements ResponseCache {
+
+    /**
+     * Capacity in bytes.
+     */
+    private final long capacity;
+
+    /**
+     * Cached responses in access order.
+     */
+    private final LinkedHashMap<String, Stored> entries;
+
+    /**
+     * Statistics.
+     */
+    private final CacheStats statistics;
+
+    /**
+     * Total size of cached responses in bytes.
+     */
+    private long size;
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Capacity in bytes.
+     */
+    public MemoryCache(final long capacity) {
+        this(capacity, new CacheStats());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Capacity in bytes.
+     * @param stats Statistics.
+     */
+    public MemoryCache(final long capacity, final CacheStats stats) {
+        this.capacity = capacity;
+        // @checkstyle MagicNumberCheck (1 line)
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.statistics = stats;
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @return Statistics.
+     */
+    public CacheStats stats() {
+        return this.statistics;
+    }
+
+    @Override
+    public CompletionStage<Optional<Entry>> load(final String key) {
+        final Stored stored;
+        synchronized (this.entries) {
+            stored = this.entries.get(key);
+        }
+        final Optional<Entry> result;
+        if (stored == null) {
+            result = Optional.empty();
+        } else {
+            result = Optional.of(
+                new Entry(
+                    stored.meta,
+                    Flowable.just(ByteBuffer.wrap(stored.body).asReadOnlyBuffer())
+                )
+            );
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletionStage<Void> save(
+        final String key, final Metadata meta, final Publisher<ByteBuffer> body
+    ) {
+        final CompletionStage<Void> result;
+        final long length = new RqHeaders(meta.headers(), "Content-Length").stream()
+            .findFirst()
+            .map(String::trim)
+            .filter(value -> value.matches("\\d{1,18}"))
+            .map(Long::parseLong)
+            .orElse(0L);
+        if (length > this.capacity) {
+            final CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(this.exceeded(key));
+            result = failed;
+        } else {
+            result = Flowable.fromPublisher(body).reduceWith(
+                ByteArrayOutputStream::new,
+                (out, buf) -> {
+                    if (out.size() + buf.remaining() > this.capacity) {
+                        throw this.exceeded(key);
+                    }
+                    final byte[] bytes = new byte[buf.remaining()];
+                    buf.duplicate().get(bytes);
+                    out.write(bytes);
+                    return out;
+                }
+            ).to(SingleInterop.get()).thenAccept(
+                out -> this.put(key, new Stored(meta, out.toByteArray()))
+            );
+        }
+        return result;
+    }
+
+    @Override
+    public CompletionStage<Void> update(final String key, final Metadata meta) {
+        synchronized (this.entries) {
+            final Stored stored = this.entries.get(key);
+            if (stored != null) {
+                this.put(key, new Stored(meta, stored.body));
+            }
+        }
+        return CompletableFuture.allOf();
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final String key) {
+        synchronized (this.entries) {
+            final Stored stored = this.entries.remove(key);
+            if (stored != null) {
+                this.size -= stored.weight();
+            }
+        }
+        return CompletableFuture.allOf();
+    }
+
+    /**
+     * Failure of saving response larger than capacity.
+     *
+     * @param key Cache key.
+     * @return Exception.
+     */
+    private IllegalStateException exceeded(final String key) {
+        return new IllegalStateException(
+            String.format("Response `%s` exceeds cache capacity %d", key, this.capacity)
+        );
+    }
+
+    /**
+     * Put response to cache evicting least recently used ones if needed.
+     *
+     * @param key Cache key.
+     * @param stored Response.
+     */
+    private void put(final String key, final Stored stored) {
+        synchronized (this.entries) {
+            final Stored previous = this.entries.remove(key);
+            if (previous != null) {
+                this.size -= previous.weight();
+            }
+            if (stored.weight() <= this.capacity) {
+                this.entries.put(key, stored);
+                this.size += stored.weight();
+                final Iterator<Map.Entry<String, Stored>> iter = this.entries.entrySet().iterator();
+                while (this.size > this.capacity && iter.hasNext()) {
+                    this.size -= iter.next().getValue().weight();
+                    iter.remove();
+                    this.statistics.onEviction();
+                }
+            }
+        }
+    }
+
+    /**
+     * Response stored in memory.
+     *
+     * @since 0.4
+     */
+    private static final class Stored {
+
+        /**
+         * Response metadata.
+         */
+        private final Metadata meta;
+
+        /**
+         * Response body.
+         */
+        private final byte[] body;
+
+        /**
+         * Ctor.
+         *
+         * @param meta Response metadata.
+         * @param body Response body.
+         */
+        Stored(final Metadata meta, final byte[] body) {
+            this.meta = meta;
+            this.body = body;
+        }
+
+        /**
+         * Approximate size of response in memory.
+         *
+         * @return Size in bytes.
+         */
+        long weight() {
+            long weight = this.body.length;
+            for (final Map.Entry<String, String> header : this.meta.headers()) {
+                weight += header.getKey().length() + header.getValue().length();
+            }
+            for (final Map.Entry<String, String> header : this.meta.vary().entrySet()) {
+                weight += header.getKey().length() + header.getValue().length();
+            }
+            return weight;
+        }
+    }
+}
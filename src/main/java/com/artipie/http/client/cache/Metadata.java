@@ -0,0 +1,420 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Metadata of cached response: status, headers, request headers selected
+ * by `Vary` response header and time response was received.
+ * Freshness is calculated as described in
+ * <a href="https://tools.ietf.org/html/rfc7234#section-4.2">RFC 7234, section 4.2</a>.
+ *
+ * @since 0.4
+ */
+public final class Metadata {
+
+    /**
+     * Age header name.
+     */
+    private static final String AGE = "Age";
+
+    /**
+     * Vary header name.
+     */
+    private static final String VARY = "Vary";
+
+    /**
+     * ETag header name.
+     */
+    private static final String ETAG = "ETag";
+
+    /**
+     * Last-Modified header name.
+     */
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    /**
+     * Status codes of responses cacheable by default.
+     * See <a href="https://tools.ietf.org/html/rfc7231#section-6.1">RFC 7231, section 6.1</a>.
+     */
+    private static final Set<String> CACHEABLE = new HashSet<>(
+        Arrays.asList("200", "203", "204", "300", "301", "404", "405", "410", "414", "501")
+    );
+
+    /**
+     * Response status.
+     */
+    private final RsStatus status;
+
+    /**
+     * Response headers.
+     */
+    private final List<Map.Entry<String, String>> headers;
+
+    /**
+     * Values of request headers listed in `Vary` response header by lower case names.
+     */
+    private final Map<String, String> vary;
+
+    /**
+     * Time response was received.
+     */
+    private final Instant stored;
+
+    /**
+     * Ctor.
+     *
+     * @param status Response status.
+     * @param headers Response headers.
+     * @param rqheaders Request headers.
+     * @param stored Time response was received.
+     */
+    public Metadata(
+        final RsStatus status,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Iterable<Map.Entry<String, String>> rqheaders,
+        final Instant stored
+    ) {
+        this(status, copy(headers), varying(headers, rqheaders), stored);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param status Response status.
+     * @param headers Response headers.
+     * @param vary Values of request headers listed in `Vary` response header
+     *  by lower case names.
+     * @param stored Time response was received.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    public Metadata(
+        final RsStatus status,
+        final List<Map.Entry<String, String>> headers,
+        final Map<String, String> vary,
+        final Instant stored
+    ) {
+        this.status = status;
+        this.headers = Collections.unmodifiableList(headers);
+        this.vary = Collections.unmodifiableMap(vary);
+        this.stored = stored;
+    }
+
+    /**
+     * Response status.
+     *
+     * @return Status.
+     */
+    public RsStatus status() {
+        return this.status;
+    }
+
+    /**
+     * Response headers as received.
+     *
+     * @return Headers.
+     */
+    public List<Map.Entry<String, String>> headers() {
+        return this.headers;
+    }
+
+    /**
+     * Values of request headers listed in `Vary` response header by lower case names.
+     *
+     * @return Request header values.
+     */
+    public Map<String, String> vary() {
+        return this.vary;
+    }
+
+    /**
+     * Time response was received.
+     *
+     * @return Receiving time.
+     */
+    public Instant stored() {
+        return this.stored;
+    }
+
+    /**
+     * Response headers to serve at specified time, `Age` header is set to current age.
+     *
+     * @param now Current time.
+     * @return Headers.
+     */
+    public List<Map.Entry<String, String>> headers(final Instant now) {
+        final List<Map.Entry<String, String>> result = this.headers.stream()
+            .filter(header -> !Metadata.AGE.equalsIgnoreCase(header.getKey()))
+            .collect(Collectors.toList());
+        result.add(new Header(Metadata.AGE, String.valueOf(this.age(now))));
+        return result;
+    }
+
+    /**
+     * Freshness lifetime in seconds from explicit expiration time,
+     * preferring `s-maxage` then `max-age` directives and then `Expires` header.
+     *
+     * @return Freshness lifetime in seconds, empty if not specified by response.
+     */
+    public Optional<Long> lifetime() {
+        final CacheControl control = new CacheControl(this.headers);
+        final Optional<Long> smax = control.seconds("s-maxage");
+        final Optional<Long> max = control.seconds("max-age");
+        final Optional<Long> result;
+        if (smax.isPresent()) {
+            result = smax;
+        } else if (max.isPresent()) {
+            result = max;
+        } else {
+            result = this.expires();
+        }
+        return result;
+    }
+
+    /**
+     * Current age in seconds: `Age` received from origin plus time spent in cache.
+     *
+     * @param now Current time.
+     * @return Age in seconds.
+     */
+    public long age(final Instant now) {
+        final long initial = this.header(Metadata.AGE)
+            .filter(value -> value.matches("\\d{1,18}"))
+            .map(Long::parseLong)
+            .orElse(0L);
+        return initial + Math.max(0L, Duration.between(this.stored, now).getSeconds());
+    }
+
+    /**
+     * Staleness in seconds: how long ago response freshness lifetime ended.
+     * Response without explicit expiration time is stale since it was received.
+     *
+     * @param now Current time.
+     * @return Staleness in seconds, zero or negative if response is fresh.
+     */
+    public long staleness(final Instant now) {
+        return this.age(now) - this.lifetime().orElse(0L);
+    }
+
+    /**
+     * Check response is fresh, so it may be served without contacting origin.
+     *
+     * @param now Current time.
+     * @return True if response is fresh.
+     */
+    public boolean fresh(final Instant now) {
+        return !new CacheControl(this.headers).has("no-cache")
+            && this.lifetime().map(life -> life > this.age(now)).orElse(false);
+    }
+
+    /**
+     * Check response may be stored by shared cache.
+     * Response should have cacheable status, should not forbid storing,
+     * should not vary by all headers and should either have explicit expiration time
+     * or have validators, so it can be revalidated when stale.
+     * Partial content responses are never stored, since this cache does not combine
+     * ranges, see <a href="https://tools.ietf.org/html/rfc7234#section-3.1">RFC 7234 3.1</a>.
+     *
+     * @return True if response is storable.
+     */
+    public boolean storable() {
+        final CacheControl control = new CacheControl(this.headers);
+        return !"206".equals(this.status.code())
+            && !control.has("no-store")
+            && !control.has("private")
+            && !this.header(Metadata.VARY).filter(value -> value.contains("*")).isPresent()
+            && (Metadata.CACHEABLE.contains(this.status.code()) || control.has("public"))
+            && (this.lifetime().isPresent() || this.validated());
+    }
+
+    /**
+     * Check response has validators: `ETag` or `Last-Modified` header.
+     *
+     * @return True if response has validators.
+     */
+    public boolean validated() {
+        return this.header(Metadata.ETAG).isPresent()
+            || this.header(Metadata.LAST_MODIFIED).isPresent();
+    }
+
+    /**
+     * Headers of conditional request validating this response.
+     *
+     * @return `If-None-Match` and `If-Modified-Since` headers built from validators.
+     */
+    public List<Map.Entry<String, String>> conditions() {
+        final List<Map.Entry<String, String>> result = new ArrayList<>(2);
+        this.header(Metadata.ETAG).ifPresent(
+            etag -> result.add(new Header("If-None-Match", etag))
+        );
+        this.header(Metadata.LAST_MODIFIED).ifPresent(
+            modified -> result.add(new Header("If-Modified-Since", modified))
+        );
+        return result;
+    }
+
+    /**
+     * Metadata refreshed by `304 Not Modified` response: headers of stored response
+     * are replaced by headers of the same name from `304` response and response
+     * receiving time is updated, see
+     * <a href="https://tools.ietf.org/html/rfc7234#section-4.3.4">RFC 7234, section 4.3.4</a>.
+     *
+     * @param updates Headers of `304` response.
+     * @param now Time `304` response was received.
+     * @return Refreshed metadata.
+     */
+    public Metadata refreshed(
+        final Iterable<Map.Entry<String, String>> updates, final Instant now
+    ) {
+        final List<Map.Entry<String, String>> fresh = copy(updates).stream()
+            .filter(header -> !"Content-Length".equalsIgnoreCase(header.getKey()))
+            .collect(Collectors.toList());
+        final Set<String> names = fresh.stream()
+            .map(header -> header.getKey().toLowerCase(Locale.US))
+            .collect(Collectors.toSet());
+        final List<Map.Entry<String, String>> merged = this.headers.stream()
+            .filter(header -> !names.contains(header.getKey().toLowerCase(Locale.US)))
+            .collect(Collectors.toCollection(ArrayList::new));
+        merged.addAll(fresh);
+        return new Metadata(this.status, merged, this.vary, now);
+    }
+
+    /**
+     * Check request selects this response, i.e. values of headers listed
+     * in `Vary` response header are same as in request this response was received for.
+     *
+     * @param rqheaders Request headers.
+     * @return True if request matches.
+     */
+    public boolean matches(final Iterable<Map.Entry<String, String>> rqheaders) {
+        return this.vary.entrySet().stream().allMatch(
+            entry -> entry.getValue().equals(
+                String.join(",", new RqHeaders(rqheaders, entry.getKey()))
+            )
+        );
+    }
+
+    /**
+     * Read first value of response header.
+     *
+     * @param name Header name.
+     * @return Header value if present.
+     */
+    private Optional<String> header(final String name) {
+        return new RqHeaders(this.headers, name).stream().findFirst().map(String::trim);
+    }
+
+    /**
+     * Freshness lifetime from `Expires` header relative to `Date` header.
+     * Invalid `Expires` value means response is already expired.
+     *
+     * @return Lifetime in seconds if `Expires` header is present.
+     */
+    private Optional<Long> expires() {
+        return this.header("Expires").map(
+            expires -> {
+                final Instant date = this.header("Date").flatMap(Metadata::date)
+                    .orElse(this.stored);
+                return Metadata.date(expires)
+                    .map(time -> Math.max(0L, Duration.between(date, time).getSeconds()))
+                    .orElse(0L);
+            }
+        );
+    }
+
+    /**
+     * Parse HTTP date.
+     *
+     * @param value Date string.
+     * @return Parsed date, empty if date is invalid.
+     */
+    private static Optional<Instant> date(final String value) {
+        Optional<Instant> result;
+        try {
+            result = Optional.of(
+                ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+            );
+        } catch (final DateTimeParseException ex) {
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Copy headers to list.
+     *
+     * @param headers Headers.
+     * @return Headers list.
+     */
+    private static List<Map.Entry<String, String>> copy(
+        final Iterable<Map.Entry<String, String>> headers
+    ) {
+        return StreamSupport.stream(headers.spliterator(), false)
+            .map(header -> new Header(header.getKey(), header.getValue()))
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Select values of request headers listed in `Vary` response header.
+     *
+     * @param headers Response headers.
+     * @param rqheaders Request headers.
+     * @return Request header values by lower case names.
+     */
+    private static Map<String, String> varying(
+        final Iterable<Map.Entry<String, String>> headers,
+        final Iterable<Map.Entry<String, String>> rqheaders
+    ) {
+        final Map<String, String> result = new TreeMap<>();
+        for (final String value : new RqHeaders(headers, Metadata.VARY)) {
+            for (final String name : value.split(",")) {
+                final String trimmed = name.trim().toLowerCase(Locale.US);
+                if (!trimmed.isEmpty()) {
+                    result.put(trimmed, String.join(",", new RqHeaders(rqheaders, trimmed)));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice remembering `404 Not Found` and `410 Gone` responses of origin slice
+ * to `GET` and `HEAD` requests for specified time and answering repeated requests
+ * with same method and URI without contacting origin.
+ * Remembered responses are answered with status, headers and body of origin response,
+ * responses with body larger than {@value #BODY} bytes or not received completely
+ * are not remembered.
+ * Requests with `Authorization` or `Cookie` headers are passed to origin as is,
+ * since responses to them may depend on credentials.
+ * Number of remembered URIs is limited, least recently used ones are forgotten first.
+ * Optional Bloom filter in front of remembered URIs answers most requests for
+ * existing resources without locking.
+ *
+ * @since 0.4
+ */
+public final class NegativeCacheSlice implements Slice {
+
+    /**
+     * Codes of negative response statuses.
+     */
+    private static final Set<String> NEGATIVE = new HashSet<>(Arrays.asList("404", "410"));
+
+    /**
+     * Bloom filter false positive probability.
+     */
+    private static final double FPP = 0.01;
+
+    /**
+     * Max size of remembered response body in bytes.
+     */
+    private static final int BODY = 8 * 1024;
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Time to remember negative responses in milliseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Max number of remembered URIs.
+     */
+    private final int capacity;
+
+    /**
+     * Remembered negative responses by URI in access order.
+     */
+    private final LinkedHashMap<String, Negative> entries;
+
+    /**
+     * Bloom filter of remembered URIs, if enabled.
+     */
+    private final Optional<BloomFilter> bloom;
+
+    /**
+     * Number of URIs added to Bloom filter since it was rebuilt.
+     */
+    private int added;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param ttl Time to remember negative responses.
+     * @param capacity Max number of remembered URIs.
+     */
+    public NegativeCacheSlice(final Slice origin, final Duration ttl, final int capacity) {
+        this(origin, ttl, capacity, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param ttl Time to remember negative responses.
+     * @param capacity Max number of remembered URIs.
+     * @param bloom Enable Bloom filter in front of remembered URIs.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public NegativeCacheSlice(
+        final Slice origin, final Duration ttl, final int capacity, final boolean bloom
+    ) {
+        this.origin = origin;
+        this.ttl = ttl.toMillis();
+        this.capacity = capacity;
+        // @checkstyle MagicNumberCheck (1 line)
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        if (bloom) {
+            this.bloom = Optional.of(new BloomFilter(capacity, NegativeCacheSlice.FPP));
+        } else {
+            this.bloom = Optional.empty();
+        }
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom req = new RequestLineFrom(line);
+        final RqMethod method = req.method();
+        final Response response;
+        if ((method == RqMethod.GET || method == RqMethod.HEAD)
+            && new RqHeaders(headers, "Authorization").isEmpty()
+            && new RqHeaders(headers, "Cookie").isEmpty()) {
+            final String key = String.join(" ", method.value(), req.uri().toString());
+            final Optional<Negative> negative = this.lookup(key);
+            if (negative.isPresent()) {
+                response = negative.get()::send;
+            } else {
+                response = connection -> this.origin.response(line, headers, body).send(
+                    (status, rsheaders, rsbody) -> {
+                        final CompletionStage<Void> result;
+                        if (NegativeCacheSlice.NEGATIVE.contains(status.code())) {
+                            result = new Tee(rsbody, Tee.bodiless(method, status)).send(
+                                tee -> connection.accept(status, rsheaders, tee),
+                                tee -> this.remember(key, status, rsheaders, tee)
+                            );
+                        } else {
+                            result = connection.accept(status, rsheaders, rsbody);
+                        }
+                        return result;
+                    }
+                );
+            }
+        } else {
+            response = this.origin.response(line, headers, body);
+        }
+        return response;
+    }
+
+    /**
+     * Find remembered negative response for request.
+     *
+     * @param key Method and URI.
+     * @return Response if negative response is remembered and not expired.
+     */
+    private Optional<Negative> lookup(final String key) {
+        final Optional<Negative> result;
+        if (this.bloom.map(filter -> filter.mightContain(key)).orElse(true)) {
+            synchronized (this.entries) {
+                final Negative negative = this.entries.get(key);
+                if (negative == null) {
+                    result = Optional.empty();
+                } else if (negative.expires > System.currentTimeMillis()) {
+                    result = Optional.of(negative);
+                } else {
+                    this.entries.remove(key);
+                    result = Optional.empty();
+                }
+            }
+        } else {
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Remember negative response once its body is received completely.
+     * Body larger than {@value #BODY} bytes fails, so response is not remembered.
+     *
+     * @param key Method and URI.
+     * @param status Response status.
+     * @param headers Response headers.
+     * @param body Response body.
+     * @return Completion of remembering.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    private CompletionStage<Void> remember(
+        final String key,
+        final RsStatus status,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final List<Map.Entry<String, String>> copy = new ArrayList<>();
+        headers.forEach(header -> copy.add(new Header(header.getKey(), header.getValue())));
+        return Flowable.fromPublisher(body).reduceWith(
+            ByteArrayOutputStream::new,
+            (out, buf) -> {
+                if (out.size() + buf.remaining() > NegativeCacheSlice.BODY) {
+                    throw new IllegalStateException(
+                        String.format("Body of `%s` is too large to remember", key)
+                    );
+                }
+                final byte[] bytes = new byte[buf.remaining()];
+                buf.duplicate().get(bytes);
+                out.write(bytes);
+                return out;
+            }
+        ).doOnSuccess(
+            out -> this.remember(
+                key,
+                new Negative(
+                    status, copy, out.toByteArray(), System.currentTimeMillis() + this.ttl
+                )
+            )
+        ).ignoreElement().to(CompletableInterop.await());
+    }
+
+    /**
+     * Remember negative response forgetting least recently used URIs
+     * if capacity is exceeded.
+     *
+     * @param key Method and URI.
+     * @param negative Negative response.
+     */
+    private void remember(final String key, final Negative negative) {
+        synchronized (this.entries) {
+            this.entries.put(key, negative);
+            final Iterator<String> iter = this.entries.keySet().iterator();
+            while (this.entries.size() > this.capacity && iter.hasNext()) {
+                iter.next();
+                iter.remove();
+            }
+            this.bloom.ifPresent(
+                filter -> {
+                    this.added += 1;
+                    if (this.added > this.capacity) {
+                        filter.clear();
+                        this.entries.keySet().forEach(filter::add);
+                        this.added = this.entries.size();
+                    } else {
+                        filter.add(key);
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Remembered negative response.
+     *
+     * @since 0.4
+     */
+    private static final class Negative {
+
+        /**
+         * Response status.
+         */
+        private final RsStatus status;
+
+        /**
+         * Response headers.
+         */
+        private final List<Map.Entry<String, String>> headers;
+
+        /**
+         * Response body.
+         */
+        private final byte[] body;
+
+        /**
+         * Expiration time in milliseconds since epoch.
+         */
+        private final long expires;
+
+        /**
+         * Ctor.
+         *
+         * @param status Response status.
+         * @param headers Response headers.
+         * @param body Response body.
+         * @param expires Expiration time in milliseconds since epoch.
+         * @checkstyle ParameterNumberCheck (7 lines)
+         */
+        Negative(
+            final RsStatus status,
+            final List<Map.Entry<String, String>> headers,
+            final byte[] body,
+            final long expires
+        ) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.expires = expires;
+        }
+
+        /**
+         * Send remembered response.
+         *
+         * @param connection Connection.
+         * @return Completion of sending response.
+         */
+        CompletionStage<Void> send(final Connection connection) {
+            return connection.accept(
+                this.status,
+                this.headers,
+                Flowable.just(ByteBuffer.wrap(this.body).asReadOnlyBuffer())
+            );
+        }
+    }
+}
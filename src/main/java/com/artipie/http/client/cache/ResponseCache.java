@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+
+/**
+ * Cache of HTTP responses.
+ *
+ * @since 0.4
+ */
+public interface ResponseCache {
+
+    /**
+     * Load cached response.
+     *
+     * @param key Cache key.
+     * @return Cached response if present.
+     */
+    CompletionStage<Optional<Entry>> load(String key);
+
+    /**
+     * Save response replacing previously cached one.
+     * Response is cached only if body is received successfully.
+     *
+     * @param key Cache key.
+     * @param meta Response metadata.
+     * @param body Response body.
+     * @return Completion of saving.
+     */
+    CompletionStage<Void> save(String key, Metadata meta, Publisher<ByteBuffer> body);
+
+    /**
+     * Replace metadata of cached response keeping its body,
+     * e.g. after response is revalidated. Does nothing if response is not cached.
+     *
+     * @param key Cache key.
+     * @param meta Response metadata.
+     * @return Completion of updating.
+     */
+    CompletionStage<Void> update(String key, Metadata meta);
+
+    /**
+     * Delete cached response, e.g. if it cannot be loaded.
+     * Does nothing if response is not cached.
+     *
+     * @param key Cache key.
+     * @return Completion of deleting.
+     */
+    CompletionStage<Void> delete(String key);
+
+    /**
+     * Cached response.
+     *
+     * @since 0.4
+     */
+    final class Entry {
+
+        /**
+         * Response metadata.
+         */
+        private final Metadata mtd;
+
+        /**
+         * Response body.
+         */
+        private final Publisher<ByteBuffer> bdy;
+
+        /**
+         * Ctor.
+         *
+         * @param meta Response metadata.
+         * @param body Response body.
+         */
+        public Entry(final Metadata meta, final Publisher<ByteBuffer> body) {
+            this.mtd = meta;
+            this.bdy = body;
+        }
+
+        /**
+         * Response metadata.
+         *
+         * @return Metadata.
+         */
+        public Metadata meta() {
+            return this.mtd;
+        }
+
+        /**
+         * Response body.
+         *
+         * @return Body publisher.
+         */
+        public Publisher<ByteBuffer> body() {
+            return this.bdy;
+        }
+    }
+}
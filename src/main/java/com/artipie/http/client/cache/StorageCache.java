@@ -0,0 +1,371 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rs.RsStatus;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.reactivestreams.Publisher;
+
+/**
+ * Response cache keeping responses in {@link Storage}, so they survive restarts.
+ * Each response is stored as body and JSON metadata record
+ * under key derived from SHA-256 hash of cache key.
+ * Every saved body gets its own key which metadata refers to, metadata is saved
+ * only when body is received completely and bodies it does not refer to are deleted
+ * afterwards, so response is visible only when body is saved, headers always match
+ * body and bodies of concurrent saves are not left behind. If body is deleted
+ * while it is loaded, metadata is read again and body it refers to now is loaded,
+ * response is deleted only if its metadata still refers to body which failed to load.
+ * Cached bodies are streamed from storage.
+ *
+ * @since 0.4
+ */
+public final class StorageCache implements ResponseCache {
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    public StorageCache(final Storage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public CompletionStage<Optional<Entry>> load(final String key) {
+        final Key root = StorageCache.root(key);
+        return this.record(root).thenCompose(
+            record -> {
+                final CompletionStage<Optional<Entry>> result;
+                if (record.isPresent()) {
+                    result = this.entry(root, record.get(), true);
+                } else {
+                    result = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return result;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> save(
+        final String key, final Metadata meta, final Publisher<ByteBuffer> body
+    ) {
+        final Key root = StorageCache.root(key);
+        final String name = String.format("body.%s", UUID.randomUUID());
+        final Key temp = new Key.From(root, name);
+        return this.storage.save(temp, new Content.From(body)).handle(
+            (nothing, throwable) -> {
+                final CompletionStage<Void> result;
+                if (throwable == null) {
+                    result = this.storage.save(
+                        new Key.From(root, "meta.json"),
+                        StorageCache.json(meta, name)
+                    ).thenCompose(saved -> this.sweep(root));
+                } else {
+                    final CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(throwable);
+                    result = this.storage.delete(temp)
+                        .handle((deleted, ignored) -> deleted)
+                        .thenCompose(deleted -> failed);
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    @Override
+    public CompletionStage<Void> update(final String key, final Metadata meta) {
+        final Key root = StorageCache.root(key);
+        return this.record(root).thenCompose(
+            record -> {
+                final CompletionStage<Void> result;
+                if (record.isPresent()) {
+                    result = this.storage.save(
+                        new Key.From(root, "meta.json"),
+                        StorageCache.json(meta, record.get().getString("body"))
+                    );
+                } else {
+                    result = CompletableFuture.allOf();
+                }
+                return result;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final String key) {
+        return this.remove(StorageCache.root(key));
+    }
+
+    /**
+     * Load cached response body metadata record refers to.
+     * If body fails to load, metadata is read again: if it refers to another body now,
+     * that body is loaded once, if it still refers to the same body, response is deleted.
+     * In both cases failure is treated as absence of response.
+     *
+     * @param root Storage key of cached response.
+     * @param record Metadata record.
+     * @param retry True if body referred by changed metadata should be loaded.
+     * @return Cached response if present and loaded.
+     */
+    private CompletionStage<Optional<Entry>> entry(
+        final Key root, final JsonObject record, final boolean retry
+    ) {
+        final Key body = StorageCache.body(root, record);
+        return this.storage.value(body).thenApply(
+            content -> Optional.of(new Entry(StorageCache.metadata(record), content))
+        ).handle(
+            (entry, throwable) -> {
+                final CompletionStage<Optional<Entry>> result;
+                if (throwable == null) {
+                    result = CompletableFuture.completedFuture(entry);
+                } else {
+                    result = this.record(root).thenCompose(
+                        current -> {
+                            final CompletionStage<Optional<Entry>> loaded;
+                            if (!current.isPresent()) {
+                                loaded = CompletableFuture.completedFuture(Optional.empty());
+                            } else if (StorageCache.body(root, current.get()).string()
+                                .equals(body.string())) {
+                                loaded = this.remove(root).thenApply(nothing -> Optional.empty());
+                            } else if (retry) {
+                                loaded = this.entry(root, current.get(), false);
+                            } else {
+                                loaded = CompletableFuture.completedFuture(Optional.empty());
+                            }
+                            return loaded;
+                        }
+                    );
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Delete cached response: its metadata record and all its bodies.
+     *
+     * @param root Storage key of cached response.
+     * @return Completion of deletion.
+     */
+    private CompletionStage<Void> remove(final Key root) {
+        final Key meta = new Key.From(root, "meta.json");
+        return this.storage.exists(meta).thenCompose(
+            exists -> {
+                final CompletionStage<Void> result;
+                if (exists) {
+                    result = this.storage.delete(meta);
+                } else {
+                    result = CompletableFuture.allOf();
+                }
+                return result;
+            }
+        ).thenCompose(deleted -> this.sweep(root));
+    }
+
+    /**
+     * Delete bodies of cached response which its current metadata record does not refer to:
+     * bodies replaced by later saves, including saves completed concurrently.
+     * Failure to delete bodies is ignored, they are deleted by next sweep.
+     *
+     * @param root Storage key of cached response.
+     * @return Completion of deletion.
+     */
+    private CompletionStage<Void> sweep(final Key root) {
+        final String prefix = new Key.From(root, "body.").string();
+        return this.record(root)
+            .exceptionally(ignored -> Optional.empty())
+            .thenCompose(
+                record -> this.storage.list(root).thenCompose(
+                    keys -> CompletableFuture.allOf(
+                        keys.stream()
+                            .filter(
+                                found -> found.string().startsWith(prefix)
+                                    && !record.map(
+                                        current -> StorageCache.body(root, current).string()
+                                            .equals(found.string())
+                                    ).orElse(false)
+                            )
+                            .map(
+                                found -> this.storage.delete(found)
+                                    .exceptionally(ignored -> null)
+                                    .toCompletableFuture()
+                            )
+                            .toArray(CompletableFuture[]::new)
+                    )
+                )
+            )
+            .exceptionally(ignored -> null);
+    }
+
+    /**
+     * Read metadata record of cached response.
+     *
+     * @param root Storage key of cached response.
+     * @return Metadata record if present.
+     */
+    private CompletionStage<Optional<JsonObject>> record(final Key root) {
+        final Key meta = new Key.From(root, "meta.json");
+        return this.storage.exists(meta).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<JsonObject>> result;
+                if (exists) {
+                    result = this.storage.value(meta)
+                        .thenCompose(
+                            content -> new PublisherAs(content).string(StandardCharsets.UTF_8)
+                        )
+                        .thenApply(
+                            json -> Optional.of(
+                                Json.createReader(new StringReader(json)).readObject()
+                            )
+                        );
+                } else {
+                    result = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return result;
+            }
+        );
+    }
+
+    /**
+     * Storage key of body metadata record refers to.
+     *
+     * @param root Storage key of cached response.
+     * @param record Metadata record.
+     * @return Body key.
+     */
+    private static Key body(final Key root, final JsonObject record) {
+        return new Key.From(root, record.getString("body"));
+    }
+
+    /**
+     * Storage key of cached response.
+     *
+     * @param key Cache key.
+     * @return Storage key.
+     */
+    private static Key root(final String key) {
+        final String hash;
+        try {
+            hash = String.format(
+                "%064x",
+                new BigInteger(
+                    1,
+                    MessageDigest.getInstance("SHA-256")
+                        .digest(key.getBytes(StandardCharsets.UTF_8))
+                )
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return new Key.From(hash.substring(0, 2), hash);
+    }
+
+    /**
+     * Serialize metadata to JSON.
+     *
+     * @param meta Metadata.
+     * @param body Name of body key.
+     * @return JSON content.
+     */
+    private static Content json(final Metadata meta, final String body) {
+        final JsonArrayBuilder headers = Json.createArrayBuilder();
+        for (final Map.Entry<String, String> header : meta.headers()) {
+            headers.add(
+                Json.createObjectBuilder()
+                    .add("name", header.getKey())
+                    .add("value", header.getValue())
+            );
+        }
+        final JsonObjectBuilder vary = Json.createObjectBuilder();
+        for (final Map.Entry<String, String> header : meta.vary().entrySet()) {
+            vary.add(header.getKey(), header.getValue());
+        }
+        return new Content.From(
+            Json.createObjectBuilder()
+                .add("status", meta.status().code())
+                .add("stored", meta.stored().toEpochMilli())
+                .add("headers", headers)
+                .add("vary", vary)
+                .add("body", body)
+                .build()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Deserialize metadata from JSON.
+     *
+     * @param obj Metadata record.
+     * @return Metadata.
+     */
+    private static Metadata metadata(final JsonObject obj) {
+        final List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (final JsonObject header : obj.getJsonArray("headers").getValuesAs(JsonObject.class)) {
+            headers.add(new Header(header.getString("name"), header.getString("value")));
+        }
+        final JsonObject varying = obj.getJsonObject("vary");
+        final Map<String, String> vary = new TreeMap<>();
+        for (final String name : varying.keySet()) {
+            vary.put(name, varying.getString(name));
+        }
+        return new Metadata(
+            new RsStatus.ByCode(Integer.parseInt(obj.getString("status"))).find(),
+            headers,
+            vary,
+            Instant.ofEpochMilli(obj.getJsonNumber("stored").longValue())
+        );
+    }
+}
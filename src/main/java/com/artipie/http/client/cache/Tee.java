@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.client.Fanout;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import io.reactivex.processors.BehaviorProcessor;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+
+/**
+ * Tee of response body to downstream and to cache sink.
+ * Body is passed to both of them by {@link Fanout} without buffering, so origin
+ * is subscribed once when both sides either subscribed or left, each chunk is copied
+ * once and origin is requested only as fast as slower side consumes chunks.
+ * If downstream cancels body, fails or finishes without subscribing to it,
+ * sink body fails, so partially received body is never committed to cache.
+ * Responses without body, like responses to HEAD requests, 204 and 304 ones,
+ * are not failed if downstream finishes without subscribing to body:
+ * origin body, which is expected to be empty, is passed to sink alone.
+ * If sink fails, downstream keeps receiving body alone.
+ *
+ * @since 0.4
+ */
+final class Tee {
+
+    /**
+     * Signal to stop passing chunks to sink.
+     */
+    private final BehaviorProcessor<Boolean> stop;
+
+    /**
+     * Cause of sink failure, if downstream failed.
+     */
+    private final AtomicReference<Throwable> cause;
+
+    /**
+     * Downstream body.
+     */
+    private final Fanout.Member downstream;
+
+    /**
+     * Sink body, it fails if downstream does not receive whole body.
+     */
+    private final Fanout.Member sink;
+
+    /**
+     * Response has no body, so downstream may not subscribe to it.
+     */
+    private final boolean bodiless;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin body publisher.
+     */
+    Tee(final Publisher<ByteBuffer> origin) {
+        this(origin, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin body publisher.
+     * @param bodiless Response has no body, so downstream may not subscribe to it.
+     */
+    Tee(final Publisher<ByteBuffer> origin, final boolean bodiless) {
+        this.bodiless = bodiless;
+        this.stop = BehaviorProcessor.create();
+        this.cause = new AtomicReference<>();
+        final Fanout fanout = new Fanout(origin, 2);
+        this.downstream = fanout.member(
+            body -> body.doOnCancel(
+                () -> this.abort(new CancellationException("Response body cancelled"))
+            )
+        );
+        this.sink = fanout.member(
+            body -> body.takeUntil(this.stop).concatWith(
+                Flowable.defer(
+                    () -> {
+                        final Throwable err = this.cause.get();
+                        final Flowable<ByteBuffer> end;
+                        if (err == null) {
+                            end = Flowable.empty();
+                        } else {
+                            end = Flowable.error(err);
+                        }
+                        return end;
+                    }
+                )
+            )
+        );
+    }
+
+    /**
+     * Pass body to downstream and to sink.
+     * Tee may be used only once.
+     *
+     * @param downstream Downstream consuming body, like response connection.
+     * @param sink Sink consuming body, like cache, it should fail if body fails.
+     * @return Completion of downstream, which also awaits sink completion.
+     *  Sink failure does not fail it.
+     */
+    CompletionStage<Void> send(
+        final Function<Publisher<ByteBuffer>, CompletionStage<Void>> downstream,
+        final Function<Publisher<ByteBuffer>, CompletionStage<Void>> sink
+    ) {
+        final CompletionStage<Void> saved = sink.apply(this.sink).handle(
+            (nothing, throwable) -> {
+                this.detach();
+                return null;
+            }
+        );
+        return downstream.apply(this.downstream).handle(
+            (nothing, throwable) -> {
+                final CompletionStage<Void> result;
+                if (throwable == null) {
+                    this.release();
+                    result = saved;
+                } else {
+                    this.abort(throwable);
+                    final CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(throwable);
+                    result = failed;
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Downstream failed or did not receive whole body, fail the sink.
+     * Sink is stopped before downstream leaves, so it never receives whole body.
+     *
+     * @param err Failure cause.
+     */
+    private void abort(final Throwable err) {
+        this.cause.compareAndSet(null, err);
+        this.stop.onNext(true);
+        this.downstream.release();
+    }
+
+    /**
+     * Check if response has no body, so its downstream may not subscribe to it.
+     *
+     * @param method Request method.
+     * @param status Response status.
+     * @return True for responses to HEAD requests, 204 and 304 responses.
+     */
+    static boolean bodiless(final RqMethod method, final RsStatus status) {
+        return method == RqMethod.HEAD
+            || status == RsStatus.NO_CONTENT
+            || status == RsStatus.NOT_MODIFIED;
+    }
+
+    /**
+     * Downstream finished, if it did not subscribe to body fail the sink
+     * or, for response without body, let sink receive body alone.
+     */
+    private void release() {
+        if (!this.downstream.arrived()) {
+            if (this.bodiless) {
+                this.downstream.release();
+            } else {
+                this.abort(new IllegalStateException("Response body was not consumed"));
+            }
+        }
+    }
+
+    /**
+     * Sink finished, stop passing chunks to it if it did not consume whole body.
+     */
+    private void detach() {
+        this.stop.onNext(true);
+        this.sink.release();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher passing origin content through while calculating its digest,
+ * it fails after last chunk if digest does not match expected one.
+ *
+ * @since 0.4
+ */
+final class VerifyingPublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * Origin content.
+     */
+    private final Publisher<ByteBuffer> origin;
+
+    /**
+     * Digest algorithm name like `sha256`.
+     */
+    private final String alg;
+
+    /**
+     * Expected digest, hex encoded.
+     */
+    private final String expected;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin content.
+     * @param alg Digest algorithm name like `sha256`.
+     * @param expected Expected digest, hex encoded.
+     */
+    VerifyingPublisher(
+        final Publisher<ByteBuffer> origin, final String alg, final String expected
+    ) {
+        this.origin = origin;
+        this.alg = alg;
+        this.expected = expected;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Flowable.defer(
+            () -> {
+                final MessageDigest digest = VerifyingPublisher.digest(this.alg);
+                return Flowable.fromPublisher(this.origin)
+                    .doOnNext(buf -> digest.update(buf.duplicate()))
+                    .concatWith(
+                        Flowable.defer(
+                            () -> {
+                                final String actual = VerifyingPublisher.hex(digest.digest());
+                                final Flowable<ByteBuffer> end;
+                                if (actual.equalsIgnoreCase(this.expected)) {
+                                    end = Flowable.empty();
+                                } else {
+                                    end = Flowable.error(
+                                        new IllegalStateException(
+                                            String.format(
+                                                "Digest mismatch: expected %s:%s but was %s:%s",
+                                                this.alg, this.expected, this.alg, actual
+                                            )
+                                        )
+                                    );
+                                }
+                                return end;
+                            }
+                        )
+                    );
+            }
+        ).subscribe(subscriber);
+    }
+
+    /**
+     * Create message digest by algorithm name like `sha256`.
+     *
+     * @param alg Algorithm name.
+     * @return Message digest.
+     */
+    static MessageDigest digest(final String alg) {
+        try {
+            return MessageDigest.getInstance(
+                alg.toUpperCase(Locale.US).replaceFirst("^SHA(?=\\d)", "SHA-")
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException(
+                String.format("Unsupported digest algorithm '%s'", alg), ex
+            );
+        }
+    }
+
+    /**
+     * Encode bytes as lower case hex string.
+     *
+     * @param bytes Bytes.
+     * @return Hex string.
+     */
+    private static String hex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte octet : bytes) {
+            hex.append(String.format("%02x", octet));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.nio.ByteBuffer;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.MappedByteBufferPool;
+
+/**
+ * Buffer pool configured by {@link Settings.Buffers}.
+ * Heap buffers are acquired whenever Jetty requests them, since their users
+ * like content decoders access backing arrays. Buffers Jetty requests as direct
+ * are direct only if direct buffers are enabled by settings, otherwise they are heap ones.
+ * Max memory of settings is the total of heap and direct buffers retained by the pool:
+ * it is split equally between them if direct buffers are enabled.
+ *
+ * @since 0.4
+ */
+final class BufferPool implements ByteBufferPool {
+
+    /**
+     * Origin pool.
+     */
+    private final ByteBufferPool origin;
+
+    /**
+     * Direct buffers flag.
+     */
+    private final boolean direct;
+
+    /**
+     * Ctor.
+     *
+     * @param settings Buffers settings.
+     */
+    BufferPool(final Settings.Buffers settings) {
+        this(BufferPool.mapped(settings), settings.direct());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin pool.
+     * @param direct Direct buffers flag.
+     */
+    BufferPool(final ByteBufferPool origin, final boolean direct) {
+        this.origin = origin;
+        this.direct = direct;
+    }
+
+    @Override
+    public ByteBuffer acquire(final int size, final boolean requested) {
+        return this.origin.acquire(size, requested && this.direct);
+    }
+
+    @Override
+    public void release(final ByteBuffer buffer) {
+        this.origin.release(buffer);
+    }
+
+    @Override
+    public void remove(final ByteBuffer buffer) {
+        this.origin.remove(buffer);
+    }
+
+    /**
+     * Create pool of buffers retaining at most max memory of settings in total.
+     * If direct buffers are disabled, direct buffers are never acquired,
+     * so whole memory is given to heap buffers. Zero and negative max memory
+     * are passed to the pool as is, meaning heuristic limit and no limit.
+     *
+     * @param settings Buffers settings.
+     * @return Mapped buffer pool.
+     */
+    static MappedByteBufferPool mapped(final Settings.Buffers settings) {
+        final long total = settings.maxMemory();
+        final long heap;
+        final long direct;
+        if (total > 1 && settings.direct()) {
+            heap = total / 2;
+            direct = total - heap;
+        } else {
+            heap = total;
+            direct = total;
+        }
+        return new MappedByteBufferPool(
+            settings.bucketFactor(), settings.maxBucketLength(), null, heap, direct
+        );
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.jetty.util.Promise;
+import org.eclipse.jetty.util.SocketAddressResolver;
+
+/**
+ * Resolver caching addresses resolved by origin resolver.
+ * Concurrent resolutions of same host and port share single origin lookup.
+ * Successful results are cached for TTL and refreshed in background
+ * when used after half of TTL, failures are cached for negative TTL.
+ *
+ * @since 0.4
+ */
+final class CachingResolver implements SocketAddressResolver {
+
+    /**
+     * Origin resolver.
+     */
+    private final SocketAddressResolver origin;
+
+    /**
+     * DNS settings.
+     */
+    private final Settings.Dns settings;
+
+    /**
+     * Cached entries by host and port.
+     */
+    private final ConcurrentMap<String, Entry> cache;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin resolver.
+     * @param settings DNS settings.
+     */
+    CachingResolver(final SocketAddressResolver origin, final Settings.Dns settings) {
+        this.origin = origin;
+        this.settings = settings;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void resolve(
+        final String host,
+        final int port,
+        final Promise<List<InetSocketAddress>> promise
+    ) {
+        final String key = String.format("%s:%d", host, port);
+        final long now = CachingResolver.now();
+        final Entry entry = this.cache.compute(
+            key,
+            (ignored, cached) -> {
+                final Entry result;
+                if (cached == null || cached.expired(now)) {
+                    result = new Entry(this.lookup(host, port), now);
+                } else {
+                    result = cached;
+                }
+                return result;
+            }
+        );
+        if (entry.stale(now)) {
+            this.lookup(host, port).thenAccept(
+                addresses -> this.cache.replace(
+                    key,
+                    entry,
+                    new Entry(CompletableFuture.completedFuture(addresses), now)
+                )
+            );
+        }
+        entry.addresses().whenComplete(
+            (addresses, throwable) -> {
+                if (throwable == null) {
+                    promise.succeeded(addresses);
+                } else {
+                    promise.failed(throwable);
+                }
+            }
+        );
+    }
+
+    /**
+     * Resolve addresses using origin resolver.
+     *
+     * @param host Host name.
+     * @param port Port.
+     * @return Resolved addresses.
+     */
+    private CompletableFuture<List<InetSocketAddress>> lookup(final String host, final int port) {
+        final CompletableFuture<List<InetSocketAddress>> result = new CompletableFuture<>();
+        this.origin.resolve(
+            host,
+            port,
+            new Promise<List<InetSocketAddress>>() {
+                @Override
+                public void succeeded(final List<InetSocketAddress> addresses) {
+                    result.complete(addresses);
+                }
+
+                @Override
+                public void failed(final Throwable err) {
+                    result.completeExceptionally(err);
+                }
+            }
+        );
+        return result;
+    }
+
+    /**
+     * Current time in milliseconds from monotonic clock.
+     *
+     * @return Time in milliseconds.
+     */
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * Cache entry.
+     *
+     * @since 0.4
+     */
+    private final class Entry {
+
+        /**
+         * Resolved addresses.
+         */
+        private final CompletableFuture<List<InetSocketAddress>> future;
+
+        /**
+         * Time the entry was created at in milliseconds.
+         */
+        private final long created;
+
+        /**
+         * Background refresh started flag.
+         */
+        private final AtomicBoolean refreshing;
+
+        /**
+         * Ctor.
+         *
+         * @param future Resolved addresses.
+         * @param created Time the entry was created at in milliseconds.
+         */
+        Entry(final CompletableFuture<List<InetSocketAddress>> future, final long created) {
+            this.future = future;
+            this.created = created;
+            this.refreshing = new AtomicBoolean();
+        }
+
+        /**
+         * Resolved addresses.
+         *
+         * @return Addresses future.
+         */
+        CompletableFuture<List<InetSocketAddress>> addresses() {
+            return this.future;
+        }
+
+        /**
+         * Check if entry should not be used anymore.
+         * Entry is never expired while resolution is in progress.
+         *
+         * @param now Current time in milliseconds.
+         * @return True if entry is expired.
+         */
+        boolean expired(final long now) {
+            final boolean result;
+            if (!this.future.isDone()) {
+                result = false;
+            } else if (this.future.isCompletedExceptionally()) {
+                result = now - this.created >= CachingResolver.this.settings.negativeTtl();
+            } else {
+                result = now - this.created >= CachingResolver.this.settings.ttl();
+            }
+            return result;
+        }
+
+        /**
+         * Check if entry should be refreshed in background.
+         * Returns true only once for an entry.
+         *
+         * @param now Current time in milliseconds.
+         * @return True if refresh should be started.
+         */
+        boolean stale(final long now) {
+            return this.future.isDone()
+                && !this.future.isCompletedExceptionally()
+                && now - this.created >= CachingResolver.this.settings.ttl() / 2
+                && this.refreshing.compareAndSet(false, true);
+        }
+    }
+}
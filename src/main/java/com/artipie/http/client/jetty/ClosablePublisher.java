@@ -27,12 +27,16 @@ import hu.akarnokd.rxjava2.interop.MaybeInterop;
 import io.reactivex.Flowable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.jetty.reactive.client.ContentChunk;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 
 /**
  * Publisher that subscribes and consumes origin publisher if it was not done yet.
+ * Unread body is drained only if it does not exceed drain limit,
+ * otherwise exchange is discarded, so large bodies are not transferred
+ * just to reuse the connection.
  *
  * @since 0.1
  */
@@ -43,6 +47,26 @@ final class ClosablePublisher implements Publisher<ContentChunk> {
      */
     private final Publisher<ContentChunk> origin;
 
+    /**
+     * Body length in bytes from response headers, negative if unknown.
+     */
+    private final long length;
+
+    /**
+     * Max size of body in bytes to drain, negative for no limit.
+     */
+    private final long limit;
+
+    /**
+     * Action discarding exchange.
+     */
+    private final Runnable discard;
+
+    /**
+     * Exchange metrics.
+     */
+    private final ExchangeMetrics metrics;
+
     /**
      * Subscribed flag.
      */
@@ -54,7 +78,31 @@ final class ClosablePublisher implements Publisher<ContentChunk> {
      * @param origin Origin publisher.
      */
     ClosablePublisher(final Publisher<ContentChunk> origin) {
+        this(origin, -1L, -1L, () -> { }, new ExchangeMetrics());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin publisher.
+     * @param length Body length in bytes from response headers, negative if unknown.
+     * @param limit Max size of body in bytes to drain, negative for no limit.
+     * @param discard Action discarding exchange.
+     * @param metrics Exchange metrics.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    ClosablePublisher(
+        final Publisher<ContentChunk> origin,
+        final long length,
+        final long limit,
+        final Runnable discard,
+        final ExchangeMetrics metrics
+    ) {
         this.origin = origin;
+        this.length = length;
+        this.limit = limit;
+        this.discard = discard;
+        this.metrics = metrics;
     }
 
     @Override
@@ -72,12 +120,49 @@ final class ClosablePublisher implements Publisher<ContentChunk> {
         final CompletionStage<Void> result;
         if (this.subscribed) {
             result = CompletableFuture.allOf();
+        } else if (this.exceeds(this.length)) {
+            this.drop();
+            result = CompletableFuture.allOf();
         } else {
+            final AtomicLong drained = new AtomicLong();
             result = Flowable.fromPublisher(this.origin)
+                .doOnNext(
+                    chunk -> {
+                        final int size = chunk.buffer.remaining();
+                        drained.addAndGet(size);
+                        this.metrics.onDrained(size);
+                        chunk.callback.succeeded();
+                    }
+                )
+                .takeUntil(chunk -> this.exceeds(drained.get()))
                 .lastElement()
                 .to(MaybeInterop.get())
-                .thenCompose(ignored -> CompletableFuture.allOf());
+                .thenAccept(
+                    ignored -> {
+                        if (this.exceeds(drained.get())) {
+                            this.drop();
+                        }
+                    }
+                );
         }
         return result;
     }
+
+    /**
+     * Discard exchange.
+     */
+    private void drop() {
+        this.discard.run();
+        this.metrics.onDiscarded();
+    }
+
+    /**
+     * Check size exceeds drain limit.
+     *
+     * @param size Size in bytes, negative if unknown.
+     * @return True if size is known and greater than limit.
+     */
+    private boolean exceeds(final long size) {
+        return this.limit >= 0 && size > this.limit;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of HTTP exchanges performed by {@link JettyClientSlices}.
+ *
+ * @since 0.4
+ */
+public final class ExchangeMetrics {
+
+    /**
+     * Number of exchanges aborted before completion.
+     */
+    private final LongAdder abrt;
+
+    /**
+     * Number of exchanges discarded instead of draining unread body.
+     */
+    private final LongAdder dscrd;
+
+    /**
+     * Number of unread body bytes drained.
+     */
+    private final LongAdder drnd;
+
+    /**
+     * Ctor.
+     */
+    public ExchangeMetrics() {
+        this.abrt = new LongAdder();
+        this.dscrd = new LongAdder();
+        this.drnd = new LongAdder();
+    }
+
+    /**
+     * Number of exchanges aborted because response consumer cancelled
+     * or failed before receiving whole response.
+     *
+     * @return Number of aborted exchanges.
+     */
+    public long aborted() {
+        return this.abrt.sum();
+    }
+
+    /**
+     * Number of exchanges which connections were discarded because
+     * unread response body exceeded drain limit.
+     *
+     * @return Number of discarded exchanges.
+     */
+    public long discarded() {
+        return this.dscrd.sum();
+    }
+
+    /**
+     * Number of bytes of unread response bodies drained to reuse connections.
+     *
+     * @return Number of drained bytes.
+     */
+    public long drained() {
+        return this.drnd.sum();
+    }
+
+    /**
+     * Record aborted exchange.
+     */
+    void onAborted() {
+        this.abrt.increment();
+    }
+
+    /**
+     * Record discarded exchange.
+     */
+    void onDiscarded() {
+        this.dscrd.increment();
+    }
+
+    /**
+     * Record drained bytes.
+     *
+     * @param bytes Number of drained bytes.
+     */
+    void onDrained(final long bytes) {
+        this.drnd.add(bytes);
+    }
+}
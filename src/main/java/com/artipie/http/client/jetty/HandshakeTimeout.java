@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.io.ssl.SslHandshakeListener;
+import org.eclipse.jetty.util.thread.Scheduler;
+
+/**
+ * Connection listener closing secure connections which have not completed
+ * TLS handshake in time. Jetty connect timeout covers only TCP connect,
+ * so slow TLS peers could otherwise hold connection slot until idle timeout.
+ * Listener should be added as a bean to {@link HttpClient} and to HTTP/2 client
+ * of HTTP/2 transport, so it is registered on every connection created by client.
+ * Closing connection twice is harmless, so it may be registered by both of them.
+ *
+ * @since 0.4
+ */
+final class HandshakeTimeout implements Connection.Listener {
+
+    /**
+     * HTTP client which scheduler is used.
+     */
+    private final HttpClient client;
+
+    /**
+     * Handshake timeout in milliseconds.
+     */
+    private final long millis;
+
+    /**
+     * Ctor.
+     *
+     * @param client HTTP client which scheduler is used.
+     * @param millis Handshake timeout in milliseconds.
+     */
+    HandshakeTimeout(final HttpClient client, final long millis) {
+        this.client = client;
+        this.millis = millis;
+    }
+
+    @Override
+    public void onOpened(final Connection connection) {
+        if (connection instanceof SslConnection) {
+            final SslConnection ssl = (SslConnection) connection;
+            final Scheduler.Task task = this.client.getScheduler().schedule(
+                ssl::close, this.millis, TimeUnit.MILLISECONDS
+            );
+            ssl.addHandshakeListener(
+                new SslHandshakeListener() {
+                    @Override
+                    public void handshakeSucceeded(final Event event) {
+                        task.cancel();
+                    }
+
+                    @Override
+                    public void handshakeFailed(final Event event, final Throwable failure) {
+                        task.cancel();
+                    }
+                }
+            );
+        }
+    }
+
+    @Override
+    public void onClosed(final Connection connection) {
+        // @checkstyle MethodBodyCommentsCheck (1 line)
+        // nothing to do, pending timeout task closes already closed connection
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.net.Inet6Address;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.Origin;
+import org.eclipse.jetty.client.api.Connection;
+import org.eclipse.jetty.io.ClientConnectionFactory;
+import org.eclipse.jetty.util.Promise;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+
+/**
+ * HTTP client racing connection attempts to all addresses destination is resolved to
+ * (Happy Eyeballs, RFC 8305). Addresses of IPv6 and IPv4 families are interleaved,
+ * next attempt is started after a delay or as soon as previous one fails.
+ * First established connection is used, connections established later are closed.
+ *
+ * @since 0.4
+ */
+final class HappyEyeballsClient extends HttpClient {
+
+    /**
+     * Connection attempt delay in milliseconds.
+     */
+    private final long delay;
+
+    /**
+     * Ctor.
+     *
+     * @param transport Client transport.
+     * @param ssl SSL context factory.
+     * @param delay Connection attempt delay in milliseconds.
+     */
+    HappyEyeballsClient(
+        final HttpClientTransport transport,
+        final SslContextFactory ssl,
+        final long delay
+    ) {
+        super(transport, ssl);
+        this.delay = delay;
+    }
+
+    @Override
+    protected void newConnection(
+        final HttpDestination destination,
+        final Promise<Connection> promise
+    ) {
+        final Origin.Address address = destination.getConnectAddress();
+        this.getSocketAddressResolver().resolve(
+            address.getHost(),
+            address.getPort(),
+            new Promise<List<InetSocketAddress>>() {
+                @Override
+                public void succeeded(final List<InetSocketAddress> addresses) {
+                    if (addresses.isEmpty()) {
+                        promise.failed(new UnknownHostException(address.getHost()));
+                    } else {
+                        new Race(destination, HappyEyeballsClient.interleave(addresses), promise)
+                            .next();
+                    }
+                }
+
+                @Override
+                public void failed(final Throwable err) {
+                    promise.failed(err);
+                }
+            }
+        );
+    }
+
+    /**
+     * Interleave IPv6 and IPv4 addresses keeping order within family,
+     * starting with family of first address.
+     *
+     * @param addresses Resolved addresses.
+     * @return Interleaved addresses.
+     */
+    static List<InetSocketAddress> interleave(final List<InetSocketAddress> addresses) {
+        final LinkedList<InetSocketAddress> first = new LinkedList<>();
+        final LinkedList<InetSocketAddress> second = new LinkedList<>();
+        for (final InetSocketAddress address : addresses) {
+            if (HappyEyeballsClient.ipv6(address) == HappyEyeballsClient.ipv6(addresses.get(0))) {
+                first.add(address);
+            } else {
+                second.add(address);
+            }
+        }
+        final List<InetSocketAddress> result = new ArrayList<>(addresses.size());
+        while (!first.isEmpty() || !second.isEmpty()) {
+            if (!first.isEmpty()) {
+                result.add(first.poll());
+            }
+            if (!second.isEmpty()) {
+                result.add(second.poll());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check if address is IPv6 one.
+     *
+     * @param address Address.
+     * @return True if address is IPv6.
+     */
+    private static boolean ipv6(final InetSocketAddress address) {
+        return address.getAddress() instanceof Inet6Address;
+    }
+
+    /**
+     * Race of connection attempts to destination addresses.
+     *
+     * @since 0.4
+     */
+    private final class Race {
+
+        /**
+         * Destination.
+         */
+        private final HttpDestination destination;
+
+        /**
+         * Addresses to connect to.
+         */
+        private final List<InetSocketAddress> addresses;
+
+        /**
+         * Connection promise.
+         */
+        private final Promise<Connection> promise;
+
+        /**
+         * Race finished flag.
+         */
+        private final AtomicBoolean done;
+
+        /**
+         * Number of started attempts.
+         */
+        private final AtomicInteger started;
+
+        /**
+         * Number of failed attempts.
+         */
+        private final AtomicInteger failed;
+
+        /**
+         * Ctor.
+         *
+         * @param destination Destination.
+         * @param addresses Addresses to connect to.
+         * @param promise Connection promise.
+         */
+        Race(
+            final HttpDestination destination,
+            final List<InetSocketAddress> addresses,
+            final Promise<Connection> promise
+        ) {
+            this.destination = destination;
+            this.addresses = addresses;
+            this.promise = promise;
+            this.done = new AtomicBoolean();
+            this.started = new AtomicInteger();
+            this.failed = new AtomicInteger();
+        }
+
+        /**
+         * Start attempt to connect to next address if race is not finished
+         * and schedule the one after it.
+         */
+        void next() {
+            final int index = this.started.getAndIncrement();
+            if (index < this.addresses.size() && !this.done.get()) {
+                if (index + 1 < this.addresses.size()) {
+                    HappyEyeballsClient.this.getScheduler().schedule(
+                        this::next, HappyEyeballsClient.this.delay, TimeUnit.MILLISECONDS
+                    );
+                }
+                this.attempt(this.addresses.get(index));
+            }
+        }
+
+        /**
+         * Attempt to connect to address.
+         *
+         * @param address Address.
+         */
+        private void attempt(final InetSocketAddress address) {
+            final Map<String, Object> context = new HashMap<>();
+            context.put(ClientConnectionFactory.CONNECTOR_CONTEXT_KEY, HappyEyeballsClient.this);
+            context.put(HttpClientTransport.HTTP_DESTINATION_CONTEXT_KEY, this.destination);
+            context.put(
+                HttpClientTransport.HTTP_CONNECTION_PROMISE_CONTEXT_KEY,
+                new Promise<Connection>() {
+                    @Override
+                    public void succeeded(final Connection connection) {
+                        if (Race.this.done.compareAndSet(false, true)) {
+                            Race.this.promise.succeeded(connection);
+                        } else {
+                            connection.close();
+                        }
+                    }
+
+                    @Override
+                    public void failed(final Throwable err) {
+                        if (Race.this.failed.incrementAndGet() == Race.this.addresses.size()) {
+                            if (Race.this.done.compareAndSet(false, true)) {
+                                Race.this.promise.failed(err);
+                            }
+                        } else {
+                            Race.this.next();
+                        }
+                    }
+                }
+            );
+            HappyEyeballsClient.this.getTransport().connect(address, context);
+        }
+    }
+}
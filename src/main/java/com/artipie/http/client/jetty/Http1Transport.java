@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+
+/**
+ * HTTP/1.1 client transport applying socket options to connections.
+ *
+ * @since 0.4
+ */
+final class Http1Transport extends HttpClientTransportOverHTTP {
+
+    /**
+     * Socket options.
+     */
+    private final SocketOptions options;
+
+    /**
+     * Ctor.
+     *
+     * @param selectors Selectors number.
+     * @param options Socket options.
+     */
+    Http1Transport(final int selectors, final SocketOptions options) {
+        super(selectors);
+        this.options = options;
+    }
+
+    @Override
+    protected void configure(final HttpClient client, final SocketChannel channel)
+        throws IOException {
+        this.options.apply(channel);
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.http2.ErrorCode;
+import org.eclipse.jetty.http2.HTTP2Session;
+import org.eclipse.jetty.http2.api.Session;
+import org.eclipse.jetty.http2.api.Stream;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.http2.client.http.HttpConnectionOverHTTP2;
+import org.eclipse.jetty.http2.frames.GoAwayFrame;
+import org.eclipse.jetty.http2.frames.HeadersFrame;
+import org.eclipse.jetty.http2.frames.PingFrame;
+import org.eclipse.jetty.http2.frames.ResetFrame;
+import org.eclipse.jetty.http2.frames.SettingsFrame;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.Promise;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.Scheduler;
+
+/**
+ * HTTP/2 client transport configured by {@link Settings.Http2}.
+ * Applies flow control windows and socket options, sends PING frames periodically
+ * over every open connection if ping interval is set. Next PING is sent only after
+ * previous one is acknowledged, connection is aborted if acknowledgement does not
+ * arrive within ping interval, so it is removed from pool without waiting for the peer.
+ * Max concurrent streams announced by server is lowered to configured limit.
+ *
+ * @since 0.4
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+final class Http2Transport extends HttpClientTransportOverHTTP2 {
+
+    /**
+     * HTTP/2 settings.
+     */
+    private final Settings.Http2 settings;
+
+    /**
+     * Counter of PING frames, used as frame payload to match acknowledgements.
+     */
+    private final AtomicLong pings;
+
+    /**
+     * Timeouts of PING frames awaiting acknowledgement by frame payload.
+     */
+    private final Map<Long, Scheduler.Task> acks;
+
+    /**
+     * Ctor.
+     *
+     * @param settings HTTP/2 settings.
+     * @param selectors Selectors number.
+     * @param options Socket options.
+     */
+    Http2Transport(
+        final Settings.Http2 settings,
+        final int selectors,
+        final SocketOptions options
+    ) {
+        super(client(settings, selectors, options));
+        this.settings = settings;
+        this.pings = new AtomicLong();
+        this.acks = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected void connect(
+        final SslContextFactory ssl,
+        final InetSocketAddress address,
+        final Session.Listener listener,
+        final Promise<Session> promise,
+        final Map<String, Object> context
+    ) {
+        super.connect(ssl, address, new TransportListener(listener), promise, context);
+    }
+
+    @Override
+    protected HttpConnectionOverHTTP2 newHttpConnection(
+        final HttpDestination destination,
+        final Session session
+    ) {
+        final HttpConnectionOverHTTP2 connection = super.newHttpConnection(destination, session);
+        if (this.settings.pingInterval() > 0) {
+            this.ping(session);
+        }
+        return connection;
+    }
+
+    /**
+     * Schedule sending PING frame to session while it is open.
+     * Session is aborted if the frame is not acknowledged within ping interval.
+     *
+     * @param session HTTP/2 session.
+     */
+    private void ping(final Session session) {
+        final Scheduler scheduler = this.getHttpClient().getScheduler();
+        final long interval = this.settings.pingInterval();
+        scheduler.schedule(
+            () -> {
+                if (!session.isClosed()) {
+                    final long id = this.pings.incrementAndGet();
+                    this.acks.put(
+                        id,
+                        scheduler.schedule(
+                            () -> this.expire(id, session, "ping timeout"),
+                            interval,
+                            TimeUnit.MILLISECONDS
+                        )
+                    );
+                    session.ping(
+                        new PingFrame(id, false),
+                        Callback.from(
+                            () -> { },
+                            err -> this.expire(id, session, "ping failed")
+                        )
+                    );
+                }
+            },
+            interval,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Handle PING acknowledgement: cancel its timeout and schedule next PING.
+     *
+     * @param session HTTP/2 session.
+     * @param frame PING reply frame.
+     */
+    private void acknowledged(final Session session, final PingFrame frame) {
+        final Scheduler.Task timeout = this.acks.remove(frame.getPayloadAsLong());
+        if (timeout != null) {
+            timeout.cancel();
+            this.ping(session);
+        }
+    }
+
+    /**
+     * Abort session if PING frame is still awaiting acknowledgement:
+     * GOAWAY is sent and connection is closed right away without waiting for the peer.
+     *
+     * @param id PING frame payload.
+     * @param session HTTP/2 session.
+     * @param reason Abort reason.
+     */
+    private void expire(final long id, final Session session, final String reason) {
+        final Scheduler.Task timeout = this.acks.remove(id);
+        if (timeout != null) {
+            timeout.cancel();
+            session.close(ErrorCode.INTERNAL_ERROR.code, reason, Callback.NOOP);
+            if (session instanceof HTTP2Session) {
+                ((HTTP2Session) session).disconnect();
+            }
+        }
+    }
+
+    /**
+     * Create HTTP/2 client from settings.
+     *
+     * @param settings HTTP/2 settings.
+     * @param selectors Selectors number.
+     * @param options Socket options.
+     * @return HTTP/2 client.
+     */
+    private static HTTP2Client client(
+        final Settings.Http2 settings,
+        final int selectors,
+        final SocketOptions options
+    ) {
+        final HTTP2Client client = new SocketClient(options);
+        client.setSelectors(selectors);
+        client.setInitialSessionRecvWindow(settings.sessionRecvWindow());
+        client.setInitialStreamRecvWindow(settings.streamRecvWindow());
+        return client;
+    }
+
+    /**
+     * HTTP/2 client applying socket options to connections.
+     *
+     * @since 0.4
+     */
+    private static final class SocketClient extends HTTP2Client {
+
+        /**
+         * Socket options.
+         */
+        private final SocketOptions options;
+
+        /**
+         * Ctor.
+         *
+         * @param options Socket options.
+         */
+        SocketClient(final SocketOptions options) {
+            this.options = options;
+        }
+
+        @Override
+        protected void configure(final SocketChannel channel) throws IOException {
+            this.options.apply(channel);
+        }
+    }
+
+    /**
+     * Session listener passing PING acknowledgements to transport
+     * and lowering max concurrent streams announced by server to configured limit.
+     *
+     * @since 0.4
+     */
+    private final class TransportListener implements Session.Listener {
+
+        /**
+         * Origin listener.
+         */
+        private final Session.Listener origin;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin listener.
+         */
+        TransportListener(final Session.Listener origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public Map<Integer, Integer> onPreface(final Session session) {
+            return this.origin.onPreface(session);
+        }
+
+        @Override
+        public Stream.Listener onNewStream(final Stream stream, final HeadersFrame frame) {
+            return this.origin.onNewStream(stream, frame);
+        }
+
+        @Override
+        public void onSettings(final Session session, final SettingsFrame frame) {
+            final Integer streams = frame.getSettings().get(SettingsFrame.MAX_CONCURRENT_STREAMS);
+            final int limit = Http2Transport.this.settings.maxConcurrentStreams();
+            final SettingsFrame limited;
+            if (streams != null && streams > limit) {
+                final Map<Integer, Integer> values = new HashMap<>(frame.getSettings());
+                values.put(SettingsFrame.MAX_CONCURRENT_STREAMS, limit);
+                limited = new SettingsFrame(values, frame.isReply());
+            } else {
+                limited = frame;
+            }
+            this.origin.onSettings(session, limited);
+        }
+
+        @Override
+        public void onPing(final Session session, final PingFrame frame) {
+            if (frame.isReply()) {
+                Http2Transport.this.acknowledged(session, frame);
+            }
+            this.origin.onPing(session, frame);
+        }
+
+        @Override
+        public void onReset(final Session session, final ResetFrame frame) {
+            this.origin.onReset(session, frame);
+        }
+
+        @Override
+        public void onGoAway(final Session session, final GoAwayFrame frame) {
+            this.origin.onGoAway(session, frame);
+        }
+
+        @Override
+        public void onClose(final Session session, final GoAwayFrame frame) {
+            this.origin.onClose(session, frame);
+        }
+
+        @Override
+        public void onClose(
+            final Session session, final GoAwayFrame frame, final Callback callback
+        ) {
+            this.origin.onClose(session, frame, callback);
+        }
+
+        @Override
+        public boolean onIdleTimeout(final Session session) {
+            return this.origin.onIdleTimeout(session);
+        }
+
+        @Override
+        public void onFailure(final Session session, final Throwable failure) {
+            this.origin.onFailure(session, failure);
+        }
+
+        @Override
+        public void onFailure(
+            final Session session, final Throwable failure, final Callback callback
+        ) {
+            this.origin.onFailure(session, failure, callback);
+        }
+    }
+}
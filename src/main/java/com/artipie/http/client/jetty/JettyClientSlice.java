@@ -23,13 +23,17 @@
  */
 package com.artipie.http.client.jetty;
 
-import com.artipie.asto.ext.PublisherAs;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.client.FirstByteTimeout;
+import com.artipie.http.client.RequestTimeout;
+import com.artipie.http.client.Settings;
 import com.artipie.http.headers.Header;
 import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
 import hu.akarnokd.rxjava2.interop.SingleInterop;
@@ -37,16 +41,23 @@ import io.reactivex.Flowable;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.http.client.utils.URIBuilder;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
-import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.reactive.client.ReactiveRequest;
 import org.eclipse.jetty.reactive.client.ReactiveResponse;
+import org.eclipse.jetty.util.thread.Scheduler;
 import org.reactivestreams.Publisher;
 
 /**
@@ -81,6 +92,16 @@ final class JettyClientSlice implements Slice {
      */
     private final int port;
 
+    /**
+     * Settings.
+     */
+    private final Settings settings;
+
+    /**
+     * Exchange metrics.
+     */
+    private final ExchangeMetrics metrics;
+
     /**
      * Ctor.
      *
@@ -95,11 +116,35 @@ final class JettyClientSlice implements Slice {
         final boolean secure,
         final String host,
         final int port
+    ) {
+        this(client, secure, host, port, new Settings.Default(), new ExchangeMetrics());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param client HTTP client.
+     * @param secure Secure connection flag.
+     * @param host Host name.
+     * @param port Port.
+     * @param settings Settings.
+     * @param metrics Exchange metrics.
+     * @checkstyle ParameterNumberCheck (2 lines)
+     */
+    JettyClientSlice(
+        final HttpClient client,
+        final boolean secure,
+        final String host,
+        final int port,
+        final Settings settings,
+        final ExchangeMetrics metrics
     ) {
         this.client = client;
         this.secure = secure;
         this.host = host;
         this.port = port;
+        this.settings = settings;
+        this.metrics = metrics;
     }
 
     @Override
@@ -109,52 +154,119 @@ final class JettyClientSlice implements Slice {
         final Publisher<ByteBuffer> body
     ) {
         return new AsyncResponse(
-            this.request(line, headers, body).thenCompose(
-                request -> Flowable.fromPublisher(
-                    ReactiveRequest.newBuilder(request).build().response(
-                        (response, rsbody) -> Flowable.just(
-                            (Response) connection -> {
-                                final ClosablePublisher closable = new ClosablePublisher(rsbody);
-                                final RsFull origin = new RsFull(
-                                    new RsStatus.ByCode(response.getStatus()).find(),
-                                    new ResponseHeaders(response),
-                                    Flowable.fromPublisher(closable).map(chunk -> chunk.buffer)
-                                );
-                                return origin.send(connection).handle(
-                                    (nothing, throwable) -> {
-                                        final CompletableFuture<Void> original;
-                                        if (throwable == null) {
-                                            original = CompletableFuture.allOf();
-                                        } else {
-                                            original = new CompletableFuture<>();
-                                            original.completeExceptionally(throwable);
-                                        }
-                                        return closable.close().thenCompose(nthng -> original);
-                                    }
-                                ).thenCompose(Function.identity());
+            Flowable.fromCallable(() -> this.request(line, headers, body))
+                .flatMap(this::exchange)
+                .singleOrError()
+                .to(SingleInterop.get())
+        );
+    }
+
+    /**
+     * Send request and build response streaming its body.
+     *
+     * @param request Request.
+     * @return Publisher of single response.
+     */
+    private Publisher<Response> exchange(final ReactiveRequest request) {
+        return request.response(
+            (response, rsbody) -> Flowable.just(
+                (Response) connection -> {
+                    final ClosablePublisher closable = new ClosablePublisher(
+                        rsbody,
+                        JettyClientSlice.length(request.getRequest(), response),
+                        this.settings.drainLimit(),
+                        () -> JettyClientSlice.discard(request.getRequest()),
+                        this.metrics
+                    );
+                    final RsFull origin = new RsFull(
+                        new RsStatus.ByCode(response.getStatus()).find(),
+                        new ResponseHeaders(response),
+                        Flowable.fromPublisher(new ReleasingPublisher(closable))
+                            .doOnCancel(
+                                () -> this.abort(
+                                    request.getRequest(),
+                                    new CancellationException("Response body cancelled")
+                                )
+                            )
+                    );
+                    return origin.send(connection).handle(
+                        (nothing, throwable) -> {
+                            final CompletionStage<Void> result;
+                            if (throwable == null) {
+                                result = closable.close();
+                            } else {
+                                this.abort(request.getRequest(), throwable);
+                                final CompletableFuture<Void> failed =
+                                    new CompletableFuture<>();
+                                failed.completeExceptionally(throwable);
+                                result = failed;
                             }
-                        )
-                    )
-                ).singleOrError().to(SingleInterop.get())
+                            return result;
+                        }
+                    ).thenCompose(Function.identity());
+                }
             )
         );
     }
 
+    /**
+     * Abort request which has not completed yet, so its connection is closed
+     * and removed from pool instead of transferring rest of response.
+     *
+     * @param request Request to abort.
+     * @param cause Abort cause.
+     */
+    private void abort(final Request request, final Throwable cause) {
+        if (request.abort(cause)) {
+            this.metrics.onAborted();
+        }
+    }
+
+    /**
+     * Length of response body.
+     * Responses to `HEAD` requests and responses with 1xx, 204 and 304 statuses
+     * have no body even if `Content-Length` header is present,
+     * so they are never discarded because of drain limit.
+     *
+     * @param request Request.
+     * @param response Response.
+     * @return Body length in bytes, negative if unknown.
+     */
+    private static long length(final Request request, final ReactiveResponse response) {
+        final int status = response.getStatus();
+        final long length;
+        if (HttpMethod.HEAD.is(request.getMethod())
+            || HttpStatus.isInformational(status)
+            || status == HttpStatus.NO_CONTENT_204
+            || status == HttpStatus.NOT_MODIFIED_304) {
+            length = 0L;
+        } else {
+            length = response.getHeaders().getLongField(HttpHeader.CONTENT_LENGTH.asString());
+        }
+        return length;
+    }
+
+    /**
+     * Abort request which unread response body exceeds drain limit.
+     *
+     * @param request Request to abort.
+     */
+    private static void discard(final Request request) {
+        request.abort(new IllegalStateException("Unread response body exceeds drain limit"));
+    }
+
     /**
      * Create request.
+     * Body of unknown length is not sent with `GET` and `HEAD` requests,
+     * so bodiless requests never use chunked transfer encoding.
      *
      * @param line Request line.
      * @param headers Request headers.
      * @param body Request body.
      * @return Request built from parameters.
-     * @todo #1:30min Send request body in reactive way.
-     *  `JettyClientSlice` reads whole request body before sending. It is inefficient
-     *  for bigger requests. There is `ReactiveRequest.Content.fromPublisher` class in Jetty
-     *  client, but it seems to cause infinite blocks in tests.
-     *  Plus, it has other flows: adding mandatory `Content-Type` header
-     *  and `Transfer-Encoding: chunked`. So own implementation might be needed.
-     */
-    private CompletionStage<Request> request(
+     * @throws IllegalArgumentException If length or timeout header is malformed.
+     */
+    private ReactiveRequest request(
         final String line,
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body
@@ -177,19 +289,93 @@ final class JettyClientSlice implements Slice {
                 .toString()
         ).method(req.method().value());
         for (final Map.Entry<String, String> header : headers) {
-            request.header(header.getKey(), header.getValue());
-        }
-        return new PublisherAs(body).bytes().thenApply(
-            bytes -> {
-                final Request result;
-                if (bytes.length > 0) {
-                    result = request.content(new BytesContentProvider(bytes));
-                } else {
-                    result = request;
-                }
-                return result;
+            if (!RequestTimeout.NAME.equalsIgnoreCase(header.getKey())
+                && !FirstByteTimeout.NAME.equalsIgnoreCase(header.getKey())) {
+                request.header(header.getKey(), header.getValue());
             }
+        }
+        final long total = JettyClientSlice.timeout(
+            headers, RequestTimeout.NAME, this.settings.requestTimeout()
         );
+        if (total > 0) {
+            request.timeout(total, TimeUnit.MILLISECONDS);
+        }
+        final long first = JettyClientSlice.timeout(
+            headers, FirstByteTimeout.NAME, this.settings.firstByteTimeout()
+        );
+        if (first > 0) {
+            this.firstByte(request, first);
+        }
+        final ReactiveRequest.Builder builder = ReactiveRequest.newBuilder(request);
+        final RequestContent content = new RequestContent(headers, body);
+        final long length = content.getLength();
+        if (length > 0 || length < 0
+            && req.method() != RqMethod.GET && req.method() != RqMethod.HEAD) {
+            builder.content(content);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Abort request if response does not begin in time after request is sent.
+     * Timer starts when request is sent completely, so time spent sending request
+     * body is not counted.
+     *
+     * @param request Request.
+     * @param millis First byte timeout in milliseconds.
+     */
+    private void firstByte(final Request request, final long millis) {
+        final AtomicReference<Scheduler.Task> task = new AtomicReference<>();
+        request.onRequestSuccess(
+            rqst -> task.set(
+                this.client.getScheduler().schedule(
+                    () -> rqst.abort(
+                        new TimeoutException(
+                            String.format("Response did not begin within %d ms", millis)
+                        )
+                    ),
+                    millis,
+                    TimeUnit.MILLISECONDS
+                )
+            )
+        ).onResponseBegin(
+            response -> JettyClientSlice.cancel(task)
+        ).onComplete(
+            result -> JettyClientSlice.cancel(task)
+        );
+    }
+
+    /**
+     * Cancel scheduled task if any.
+     *
+     * @param task Scheduled task reference.
+     */
+    private static void cancel(final AtomicReference<Scheduler.Task> task) {
+        final Scheduler.Task scheduled = task.getAndSet(null);
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+    }
+
+    /**
+     * Read timeout from request header falling back to default value.
+     *
+     * @param headers Request headers.
+     * @param name Header name.
+     * @param dflt Default timeout in milliseconds.
+     * @return Timeout in milliseconds.
+     * @throws IllegalArgumentException If header value is not a number of milliseconds.
+     */
+    private static long timeout(
+        final Iterable<Map.Entry<String, String>> headers,
+        final String name,
+        final long dflt
+    ) {
+        return new RqHeaders(headers, name).stream()
+            .findFirst()
+            .map(String::trim)
+            .map(value -> RequestContent.number(name, value))
+            .orElse(dflt);
     }
 
     /**
@@ -26,16 +26,39 @@ package com.artipie.http.client.jetty;
 import com.artipie.http.Slice;
 import com.artipie.http.client.ClientSlices;
 import com.artipie.http.client.Settings;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.jetty.client.ConnectionPool;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.client.HttpDestination;
 import org.eclipse.jetty.client.HttpProxy;
 import org.eclipse.jetty.client.Origin;
+import org.eclipse.jetty.unixsocket.client.HttpClientTransportOverUnixSockets;
+import org.eclipse.jetty.util.SocketAddressResolver;
+import org.eclipse.jetty.util.component.LifeCycle;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
+import org.eclipse.jetty.util.thread.Scheduler;
 
 /**
  * ClientSlices implementation using Jetty HTTP client as back-end.
  * <code>start()</code> method should be called before sending responses to initialize
  * underlying client. <code>stop()</code> methods should be used to release resources
  * and stop requests in progress.
+ * Response body buffers are passed to {@link com.artipie.http.Connection} without copying:
+ * a buffer belongs to body consumer only until it requests the next one, cancels
+ * or body terminates, then Jetty reuses it. Consumers keeping buffers longer
+ * (e.g. queueing them with prefetching operators) should copy them.
  *
  * @since 0.1
  */
@@ -56,6 +79,27 @@ public final class JettyClientSlices implements ClientSlices {
      */
     private final HttpClient clnt;
 
+    /**
+     * Settings.
+     */
+    private final Settings settings;
+
+    /**
+     * Completion of warming up destinations from settings.
+     */
+    private final CompletableFuture<Void> warm;
+
+    /**
+     * HTTP clients connected to Unix domain sockets by socket path,
+     * managed as beans of main client.
+     */
+    private final Map<String, HttpClient> sockets;
+
+    /**
+     * Exchange metrics.
+     */
+    private final ExchangeMetrics mtrcs;
+
     /**
      * Ctor.
      */
@@ -70,19 +114,116 @@ public final class JettyClientSlices implements ClientSlices {
      */
     public JettyClientSlices(final Settings settings) {
         this.clnt = create(settings);
+        this.settings = settings;
+        this.warm = new CompletableFuture<>();
+        this.sockets = new HashMap<>();
+        this.mtrcs = new ExchangeMetrics();
     }
 
     /**
      * Prepare for usage.
+     * Shared executor from settings is started if it is not running yet,
+     * but it is never managed, so it is not stopped with client.
+     * Connections to warm up destinations from settings are opened in background,
+     * see {@link #warmedUp()}.
      *
      * @throws Exception In case of any errors starting.
      */
     public void start() throws Exception {
+        final Optional<Executor> shared = this.settings.executor();
+        if (shared.isPresent() && shared.get() instanceof LifeCycle
+            && !((LifeCycle) shared.get()).isRunning()) {
+            ((LifeCycle) shared.get()).start();
+        }
         this.clnt.start();
+        CompletableFuture.allOf(
+            this.settings.warmUpDestinations().stream()
+                .map(uri -> this.warmUp(uri, this.settings.warmUpConnections()))
+                .map(CompletionStage::toCompletableFuture)
+                .toArray(CompletableFuture[]::new)
+        ).whenComplete(
+            (nothing, throwable) -> {
+                if (throwable == null) {
+                    this.warm.complete(null);
+                } else {
+                    this.warm.completeExceptionally(throwable);
+                }
+            }
+        );
+    }
+
+    /**
+     * Completion of warming up destinations specified in settings.
+     * Completes when all connections are opened after client is started.
+     *
+     * @return Completion of warming up.
+     */
+    public CompletionStage<Void> warmedUp() {
+        return this.warm;
+    }
+
+    /**
+     * Open connections to destination in advance, so requests do not wait
+     * for TCP and TLS handshakes.
+     *
+     * @param destination Destination URI, only scheme, host and port are used.
+     * @param connections Number of connections to open.
+     * @return Completion of opening connections, failed with
+     *  {@link IllegalArgumentException} if destination has no http or https scheme or no host.
+     */
+    public CompletionStage<Void> warmUp(final URI destination, final int connections) {
+        final CompletionStage<Void> result;
+        if (("http".equals(destination.getScheme()) || "https".equals(destination.getScheme()))
+            && destination.getHost() != null) {
+            result = this.pool(destination).preCreateConnections(connections);
+        } else {
+            final CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(
+                new IllegalArgumentException(
+                    String.format(
+                        "Warm up destination '%s' should have http or https scheme and host",
+                        destination
+                    )
+                )
+            );
+            result = failed;
+        }
+        return result;
+    }
+
+    /**
+     * Connection pool of destination.
+     *
+     * @param destination Destination URI, only scheme, host and port are used.
+     * @return Connection pool.
+     */
+    ConnectionPool pool(final URI destination) {
+        final String scheme = destination.getScheme();
+        final int port;
+        if (destination.getPort() > 0) {
+            port = destination.getPort();
+        } else if ("https".equals(scheme)) {
+            port = JettyClientSlices.HTTPS_PORT;
+        } else {
+            port = JettyClientSlices.HTTP_PORT;
+        }
+        return ((HttpDestination) this.clnt.getDestination(scheme, destination.getHost(), port))
+            .getConnectionPool();
+    }
+
+    /**
+     * Metrics of exchanges performed by slices of this client.
+     *
+     * @return Exchange metrics.
+     */
+    public ExchangeMetrics metrics() {
+        return this.mtrcs;
     }
 
     /**
      * Release used resources and stop requests in progress.
+     * Executor created by client from settings is shut down,
+     * shared executor from settings is left running.
      *
      * @throws Exception In case of any errors stopping.
      */
@@ -110,6 +251,42 @@ public final class JettyClientSlices implements ClientSlices {
         return this.slice(true, host, port);
     }
 
+    /**
+     * Create client slice sending HTTP requests over Unix domain socket.
+     * Client connected to socket is managed by main client: it is started
+     * right away if main client is running, otherwise when main client starts,
+     * and it is stopped when main client stops.
+     *
+     * @param path Socket file path.
+     * @return Client slice.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public Slice unix(final String path) {
+        final HttpClient socket;
+        synchronized (this.sockets) {
+            socket = this.sockets.computeIfAbsent(path, this::socket);
+            if (this.clnt.addBean(socket, true) && this.clnt.isRunning()) {
+                try {
+                    socket.start();
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Exception ex) {
+                    throw new IllegalStateException(
+                        String.format("Failed to start client for socket '%s'", path),
+                        ex
+                    );
+                }
+            }
+        }
+        return new JettyClientSlice(
+            socket,
+            false,
+            "localhost",
+            JettyClientSlices.HTTP_PORT,
+            this.settings,
+            this.mtrcs
+        );
+    }
+
     /**
      * Create slice backed by client.
      *
@@ -119,7 +296,9 @@ public final class JettyClientSlices implements ClientSlices {
      * @return Client slice.
      */
     private Slice slice(final boolean secure, final String host, final int port) {
-        return new JettyClientSlice(this.clnt, secure, host, port);
+        return new JettyClientSlice(
+            this.clnt, secure, host, port, this.settings, this.mtrcs
+        );
     }
 
     /**
@@ -129,13 +308,54 @@ public final class JettyClientSlices implements ClientSlices {
      * @return HTTP client built from settings.
      */
     private static HttpClient create(final Settings settings) {
-        final HttpClient result = new HttpClient(new SslContextFactory.Client(settings.trustAll()));
+        final HttpClientTransport transport = transport(settings);
+        final HttpClient result;
+        if (settings.connectAttemptDelay() > 0) {
+            result = new HappyEyeballsClient(
+                transport,
+                new SslContextFactory.Client(settings.trustAll()),
+                settings.connectAttemptDelay()
+            );
+        } else {
+            result = new HttpClient(
+                transport,
+                new SslContextFactory.Client(settings.trustAll())
+            );
+        }
         settings.proxy().ifPresent(
             proxy -> result.getProxyConfiguration().getProxies().add(
                 new HttpProxy(new Origin.Address(proxy.host(), proxy.port()), proxy.secure())
             )
         );
+        final Optional<Executor> shared = settings.executor();
+        if (shared.isPresent()) {
+            result.setExecutor(shared.get());
+            result.addBean(shared.get(), false);
+        } else {
+            result.setExecutor(executor(settings.threads()));
+        }
+        if (settings.dns().ttl() > 0) {
+            final Scheduler scheduler = new ScheduledExecutorScheduler(
+                "artipie-http-client-scheduler", false
+            );
+            result.setScheduler(scheduler);
+            result.setSocketAddressResolver(
+                new CachingResolver(
+                    new SocketAddressResolver.Async(
+                        result.getExecutor(),
+                        scheduler,
+                        result.getAddressResolutionTimeout()
+                    ),
+                    settings.dns()
+                )
+            );
+        }
+        result.setByteBufferPool(new BufferPool(settings.buffers()));
+        result.setRequestBufferSize(settings.buffers().requestBufferSize());
+        result.setResponseBufferSize(settings.buffers().responseBufferSize());
+        result.setTCPNoDelay(settings.socket().tcpNoDelay());
         result.setFollowRedirects(settings.followRedirects());
+        result.setDefaultRequestContentType(null);
         if (settings.connectTimeout() <= 0) {
             /* @checkstyle MethodBodyCommentsCheck (1 line)
              * Jetty client does not treat zero value as infinite timeout in non-blocking mode.
@@ -149,6 +369,108 @@ public final class JettyClientSlices implements ClientSlices {
         }
         result.setConnectTimeout(settings.connectTimeout());
         result.setIdleTimeout(settings.idleTimeout());
+        if (settings.tlsHandshakeTimeout() > 0) {
+            final HandshakeTimeout timeout = new HandshakeTimeout(
+                result, settings.tlsHandshakeTimeout()
+            );
+            result.addBean(timeout);
+            if (transport instanceof Http2Transport) {
+                ((Http2Transport) transport).getHTTP2Client().addBean(timeout);
+            }
+        }
+        result.setMaxConnectionsPerDestination(settings.maxConnectionsPerDestination());
+        result.setMaxRequestsQueuedPerDestination(settings.maxRequestsQueuedPerDestination());
+        return result;
+    }
+
+    /**
+     * Create HTTP client connected to Unix domain socket.
+     * Client shares executor and buffers with main client
+     * and inherits its redirects, connect mode, timeouts and limits.
+     *
+     * @param path Socket file path.
+     * @return HTTP client.
+     */
+    private HttpClient socket(final String path) {
+        final HttpClient result = new HttpClient(
+            new HttpClientTransportOverUnixSockets(path),
+            null
+        );
+        result.setExecutor(this.clnt.getExecutor());
+        result.addBean(this.clnt.getExecutor(), false);
+        result.setByteBufferPool(this.clnt.getByteBufferPool());
+        result.setRequestBufferSize(this.clnt.getRequestBufferSize());
+        result.setResponseBufferSize(this.clnt.getResponseBufferSize());
+        result.setFollowRedirects(this.clnt.isFollowRedirects());
+        result.setDefaultRequestContentType(null);
+        result.setConnectBlocking(this.clnt.isConnectBlocking());
+        result.setConnectTimeout(this.clnt.getConnectTimeout());
+        result.setIdleTimeout(this.clnt.getIdleTimeout());
+        result.setAddressResolutionTimeout(this.clnt.getAddressResolutionTimeout());
+        result.setMaxConnectionsPerDestination(this.clnt.getMaxConnectionsPerDestination());
+        result.setMaxRequestsQueuedPerDestination(
+            this.clnt.getMaxRequestsQueuedPerDestination()
+        );
+        return result;
+    }
+
+    /**
+     * Creates executor from {@link Settings.Threads}.
+     * Executor is a life cycle, so it is stopped with client.
+     *
+     * @param threads Thread pool settings.
+     * @return Executor built from settings.
+     */
+    private static Executor executor(final Settings.Threads threads) {
+        final Executor result;
+        if (threads.virtual()) {
+            final Method factory;
+            try {
+                factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (final NoSuchMethodException ex) {
+                throw new IllegalStateException("Virtual threads require JDK 21+", ex);
+            }
+            result = new ManagedExecutor(
+                () -> {
+                    final ExecutorService service;
+                    try {
+                        service = (ExecutorService) factory.invoke(null);
+                    } catch (final ReflectiveOperationException ex) {
+                        throw new IllegalStateException("Failed to create virtual threads", ex);
+                    }
+                    return service;
+                }
+            );
+        } else {
+            final QueuedThreadPool pool = new QueuedThreadPool(threads.max(), threads.min());
+            pool.setReservedThreads(threads.reserved());
+            pool.setName("artipie-http-client");
+            result = pool;
+        }
+        return result;
+    }
+
+    /**
+     * Creates {@link HttpClientTransport} from {@link Settings}.
+     *
+     * @param settings Settings.
+     * @return HTTP client transport built from settings.
+     */
+    private static HttpClientTransport transport(final Settings settings) {
+        final HttpClientTransport result;
+        if (settings.transport() == Settings.Transport.HTTP_2) {
+            result = new Http2Transport(
+                settings.http2(),
+                settings.selectors(),
+                new SocketOptions(settings.socket())
+            );
+        } else {
+            result = new Http1Transport(
+                settings.selectors(),
+                new SocketOptions(settings.socket())
+            );
+        }
+        result.setConnectionPoolFactory(new PoolFactory(settings));
         return result;
     }
 }
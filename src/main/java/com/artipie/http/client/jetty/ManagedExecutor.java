@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+
+/**
+ * Executor service managed as life cycle, so it is shut down when client stops.
+ * Jetty client stops executors which are life cycles themselves,
+ * like its thread pools, but plain executor services are never shut down.
+ * New executor service is created on each start, so client may be restarted.
+ *
+ * @since 0.4
+ */
+final class ManagedExecutor extends AbstractLifeCycle implements Executor {
+
+    /**
+     * Factory of executor services.
+     */
+    private final Supplier<ExecutorService> factory;
+
+    /**
+     * Executor service while running.
+     */
+    private volatile ExecutorService service;
+
+    /**
+     * Ctor.
+     *
+     * @param factory Factory of executor services.
+     */
+    ManagedExecutor(final Supplier<ExecutorService> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        final ExecutorService current = this.service;
+        if (current == null) {
+            throw new RejectedExecutionException("Executor is not running");
+        }
+        current.execute(task);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        this.service = this.factory.get();
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        final ExecutorService current = this.service;
+        this.service = null;
+        if (current != null) {
+            current.shutdown();
+        }
+        super.doStop();
+    }
+}
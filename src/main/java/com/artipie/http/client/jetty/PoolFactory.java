@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import org.eclipse.jetty.client.ConnectionPool;
+import org.eclipse.jetty.client.DuplexConnectionPool;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.MultiplexConnectionPool;
+import org.eclipse.jetty.client.RandomConnectionPool;
+import org.eclipse.jetty.client.RoundRobinConnectionPool;
+
+/**
+ * Connection pool factory configured by {@link Settings}.
+ * Creates pools of strategy and size specified for destination host,
+ * allowing multiple concurrent requests per connection for HTTP/2 transport.
+ *
+ * @since 0.4
+ */
+final class PoolFactory implements ConnectionPool.Factory {
+
+    /**
+     * Settings.
+     */
+    private final Settings settings;
+
+    /**
+     * Ctor.
+     *
+     * @param settings Settings.
+     */
+    PoolFactory(final Settings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public ConnectionPool newConnectionPool(final HttpDestination destination) {
+        final String host = destination.getHost();
+        final int max = this.settings.maxConnectionsPerHost().getOrDefault(
+            host,
+            this.settings.maxConnectionsPerDestination()
+        );
+        final int multiplex;
+        if (this.settings.transport() == Settings.Transport.HTTP_2) {
+            multiplex = this.settings.http2().maxConcurrentStreams();
+        } else {
+            multiplex = 1;
+        }
+        final ConnectionPool pool;
+        switch (
+            this.settings.poolStrategyPerHost().getOrDefault(host, this.settings.poolStrategy())
+        ) {
+            case ROUND_ROBIN:
+                pool = new RoundRobinConnectionPool(destination, max, destination, multiplex);
+                break;
+            case RANDOM:
+                pool = new RandomConnectionPool(destination, max, destination, multiplex);
+                break;
+            case MULTIPLEXED:
+                pool = new MultiplexConnectionPool(destination, max, destination, multiplex);
+                break;
+            default:
+                if (multiplex > 1) {
+                    pool = new MultiplexConnectionPool(destination, max, destination, multiplex);
+                } else {
+                    pool = new DuplexConnectionPool(destination, max, destination);
+                }
+                break;
+        }
+        return pool;
+    }
+}
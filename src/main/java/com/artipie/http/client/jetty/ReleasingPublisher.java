@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publisher of response body buffers taken from Jetty content chunks without copying.
+ * Buffer of each chunk is passed to subscriber as is, it is a slice of Jetty network
+ * buffer which is reused once chunk is released. Chunk is released (so Jetty may read
+ * more data into the buffer) when subscriber asks for the next item, that is
+ * when it calls `request()` or when it still has outstanding demand after `onNext()`
+ * returns, and when subscriber cancels or body terminates.
+ * So a buffer is owned by subscriber only until it asks for the next one,
+ * subscribers queueing buffers (e.g. prefetching operators like `observeOn`,
+ * `flatMap` or `publish`) must copy them first.
+ *
+ * @since 0.4
+ */
+final class ReleasingPublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * Origin publisher.
+     */
+    private final Publisher<ContentChunk> origin;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin publisher.
+     */
+    ReleasingPublisher(final Publisher<ContentChunk> origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        this.origin.subscribe(new ReleasingSubscriber(subscriber));
+    }
+
+    /**
+     * Subscriber releasing chunks once downstream is done with them.
+     *
+     * @since 0.4
+     */
+    private static final class ReleasingSubscriber
+        implements Subscriber<ContentChunk>, Subscription {
+
+        /**
+         * Downstream subscriber.
+         */
+        private final Subscriber<? super ByteBuffer> downstream;
+
+        /**
+         * Chunk delivered to downstream and not released yet.
+         */
+        private final AtomicReference<ContentChunk> held;
+
+        /**
+         * Amount of buffers requested by downstream and not delivered yet.
+         */
+        private final AtomicLong demand;
+
+        /**
+         * Number of `request()` calls made by downstream.
+         */
+        private final AtomicLong requests;
+
+        /**
+         * Upstream subscription.
+         */
+        private volatile Subscription upstream;
+
+        /**
+         * Ctor.
+         *
+         * @param downstream Downstream subscriber.
+         */
+        ReleasingSubscriber(final Subscriber<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+            this.held = new AtomicReference<>();
+            this.demand = new AtomicLong();
+            this.requests = new AtomicLong();
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.upstream = subscription;
+            this.downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(final ContentChunk chunk) {
+            final long before = this.requests.get();
+            this.demand.decrementAndGet();
+            this.downstream.onNext(chunk.buffer);
+            this.held.set(chunk);
+            if (this.demand.get() > 0 || this.requests.get() != before) {
+                this.release();
+            }
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            this.release();
+            this.downstream.onError(err);
+        }
+
+        @Override
+        public void onComplete() {
+            this.release();
+            this.downstream.onComplete();
+        }
+
+        @Override
+        public void request(final long amount) {
+            this.requests.incrementAndGet();
+            this.demand.accumulateAndGet(amount, ReleasingSubscriber::add);
+            this.release();
+            this.upstream.request(amount);
+        }
+
+        @Override
+        public void cancel() {
+            this.release();
+            this.upstream.cancel();
+        }
+
+        /**
+         * Release held chunk if any.
+         */
+        private void release() {
+            final ContentChunk chunk = this.held.getAndSet(null);
+            if (chunk != null) {
+                chunk.callback.succeeded();
+            }
+        }
+
+        /**
+         * Add demand capping it at max value.
+         *
+         * @param current Current demand.
+         * @param added Added demand.
+         * @return Sum of demands or max value on overflow.
+         */
+        private static long add(final long current, final long added) {
+            final long sum = current + added;
+            final long result;
+            if (sum < 0) {
+                result = Long.MAX_VALUE;
+            } else {
+                result = sum;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.asto.Content;
+import com.artipie.http.rq.RqHeaders;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.eclipse.jetty.reactive.client.ReactiveRequest;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Request content streamed to Jetty client from request body publisher.
+ * Chunks are requested from origin publisher only when Jetty is ready to write them,
+ * so body is never fully read into memory.
+ * Content length is taken from `Content-Length` header if specified,
+ * then from body size if known. Unknown length leads to chunked transfer encoding.
+ * Malformed `Content-Length` header fails building request.
+ * Content type is taken from `Content-Type` header only, no default value is provided.
+ *
+ * @since 0.4
+ */
+final class RequestContent implements ReactiveRequest.Content {
+
+    /**
+     * Request headers.
+     */
+    private final Iterable<Map.Entry<String, String>> headers;
+
+    /**
+     * Request body.
+     */
+    private final Publisher<ByteBuffer> body;
+
+    /**
+     * Ctor.
+     *
+     * @param headers Request headers.
+     * @param body Request body.
+     */
+    RequestContent(
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        this.headers = headers;
+        this.body = body;
+    }
+
+    @Override
+    public long getLength() {
+        final List<String> values = new RqHeaders(this.headers, "Content-Length");
+        final long length;
+        if (values.isEmpty()) {
+            if (this.body instanceof Content) {
+                length = ((Content) this.body).size().orElse(-1L);
+            } else {
+                length = -1L;
+            }
+        } else {
+            length = RequestContent.number("Content-Length", values.get(0).trim());
+        }
+        return length;
+    }
+
+    /**
+     * Parse non-negative number from header value.
+     *
+     * @param name Header name.
+     * @param value Header value.
+     * @return Number.
+     * @throws IllegalArgumentException If value is not a non-negative number.
+     */
+    static long number(final String name, final String value) {
+        if (!value.matches("\\d{1,18}")) {
+            throw new IllegalArgumentException(
+                String.format("Invalid `%s` header value: `%s`", name, value)
+            );
+        }
+        return Long.parseLong(value);
+    }
+
+    @Override
+    public String getContentType() {
+        final List<String> values = new RqHeaders(this.headers, "Content-Type");
+        final String type;
+        if (values.isEmpty()) {
+            type = null;
+        } else {
+            type = values.get(0);
+        }
+        return type;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ContentChunk> subscriber) {
+        Flowable.fromPublisher(this.body)
+            .filter(ByteBuffer::hasRemaining)
+            .map(ContentChunk::new)
+            .subscribe(subscriber);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Socket options from {@link Settings.Socket} applied to socket channel before connecting.
+ *
+ * @since 0.4
+ */
+final class SocketOptions {
+
+    /**
+     * Socket options settings.
+     */
+    private final Settings.Socket settings;
+
+    /**
+     * Ctor.
+     *
+     * @param settings Socket options settings.
+     */
+    SocketOptions(final Settings.Socket settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Apply options to channel.
+     *
+     * @param channel Socket channel.
+     * @throws IOException In case option cannot be set.
+     */
+    void apply(final SocketChannel channel) throws IOException {
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, this.settings.tcpNoDelay());
+        channel.setOption(StandardSocketOptions.SO_KEEPALIVE, this.settings.keepAlive());
+        if (this.settings.receiveBufferSize() > 0) {
+            channel.setOption(
+                StandardSocketOptions.SO_RCVBUF, this.settings.receiveBufferSize()
+            );
+        }
+        if (this.settings.sendBufferSize() > 0) {
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, this.settings.sendBufferSize());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link CoalescingSlice}.
+ *
+ * @since 0.4
+ */
+final class CoalescingSliceTest {
+
+    /**
+     * Response body.
+     */
+    private static final byte[] BODY = "coalesced response body".getBytes();
+
+    /**
+     * Number of requests sent to origin.
+     */
+    private AtomicInteger requests;
+
+    /**
+     * Gate delaying origin responses.
+     */
+    private CompletableFuture<Void> gate;
+
+    /**
+     * Coalescing slice over gated origin.
+     */
+    private Slice slice;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new AtomicInteger();
+        this.gate = new CompletableFuture<>();
+        this.slice = new CoalescingSlice(
+            (line, headers, body) -> {
+                this.requests.incrementAndGet();
+                return connection -> this.gate.thenCompose(
+                    nothing -> connection.accept(
+                        RsStatus.OK,
+                        Headers.EMPTY,
+                        Flowable.fromArray(
+                            ByteBuffer.wrap(Arrays.copyOfRange(CoalescingSliceTest.BODY, 0, 10)),
+                            ByteBuffer.wrap(
+                                Arrays.copyOfRange(
+                                    CoalescingSliceTest.BODY, 10, CoalescingSliceTest.BODY.length
+                                )
+                            )
+                        )
+                    )
+                );
+            }
+        );
+    }
+
+    @Test
+    void shouldSendSingleRequestForIdenticalRequests() {
+        final List<Response> responses = IntStream.range(0, 5)
+            .mapToObj(
+                idx -> this.slice.response(
+                    new RequestLine(RqMethod.GET, "/artifact.jar").toString(),
+                    new Headers.From("Accept", "*/*"),
+                    Content.EMPTY
+                )
+            ).collect(Collectors.toList());
+        final List<CompletableFuture<byte[]>> bodies = responses.stream().map(
+            response -> {
+                final CompletableFuture<byte[]> received = new CompletableFuture<>();
+                response.send(
+                    (status, headers, body) -> new PublisherAs(new Content.From(body)).bytes()
+                        .thenAccept(received::complete)
+                );
+                return received;
+            }
+        ).collect(Collectors.toList());
+        this.gate.complete(null);
+        for (final CompletableFuture<byte[]> body : bodies) {
+            MatcherAssert.assertThat(
+                body.join(),
+                new IsEqual<>(CoalescingSliceTest.BODY)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldSendRequestsWithDifferentHeadersSeparately() {
+        final Response first = this.slice.response(
+            new RequestLine(RqMethod.GET, "/index.json").toString(),
+            new Headers.From("Accept", "application/json"),
+            Content.EMPTY
+        );
+        final Response second = this.slice.response(
+            new RequestLine(RqMethod.GET, "/index.json").toString(),
+            new Headers.From("Accept", "text/html"),
+            Content.EMPTY
+        );
+        this.gate.complete(null);
+        MatcherAssert.assertThat(first, new RsHasBody(CoalescingSliceTest.BODY));
+        MatcherAssert.assertThat(second, new RsHasBody(CoalescingSliceTest.BODY));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "Cookie", "If-None-Match", "If-Modified-Since", "If-Range", "Authorization"
+        }
+    )
+    void shouldSendConditionalAndCredentialedRequestsSeparately(final String header) {
+        final Response plain = this.slice.response(
+            new RequestLine(RqMethod.GET, "/maven-metadata.xml").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        final Response specific = this.slice.response(
+            new RequestLine(RqMethod.GET, "/maven-metadata.xml").toString(),
+            new Headers.From(header, "value"),
+            Content.EMPTY
+        );
+        this.gate.complete(null);
+        MatcherAssert.assertThat(plain, new RsHasBody(CoalescingSliceTest.BODY));
+        MatcherAssert.assertThat(specific, new RsHasBody(CoalescingSliceTest.BODY));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldNotCoalesceNonIdempotentRequests() {
+        final Response first = this.slice.response(
+            new RequestLine(RqMethod.POST, "/upload").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        final Response second = this.slice.response(
+            new RequestLine(RqMethod.POST, "/upload").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        this.gate.complete(null);
+        MatcherAssert.assertThat(first, new RsHasStatus(RsStatus.OK));
+        MatcherAssert.assertThat(second, new RsHasStatus(RsStatus.OK));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldStartNewRequestAfterResponseBegins() {
+        this.gate.complete(null);
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/metadata.xml").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ),
+            new RsHasBody(CoalescingSliceTest.BODY)
+        );
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/metadata.xml").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ),
+            new RsHasBody(CoalescingSliceTest.BODY)
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldNotSendOriginRequestUntilResponseIsSent() {
+        this.slice.response(
+            new RequestLine(RqMethod.GET, "/lazy.jar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(0));
+    }
+
+    @Test
+    void shouldNotWaitForResponseWhichIsNeverSent() {
+        this.slice.response(
+            new RequestLine(RqMethod.GET, "/dropped.jar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        final Response sent = this.slice.response(
+            new RequestLine(RqMethod.GET, "/dropped.jar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        this.gate.complete(null);
+        MatcherAssert.assertThat(
+            "Sent response should not wait for the one never sent",
+            sent,
+            new RsHasBody(CoalescingSliceTest.BODY)
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldNotWaitForRequestWhichNeverReadsBody() {
+        this.slice.response(
+            new RequestLine(RqMethod.GET, "/stalled.jar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        ).send((status, headers, body) -> new CompletableFuture<>());
+        final Response reading = this.slice.response(
+            new RequestLine(RqMethod.GET, "/stalled.jar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        final CompletableFuture<byte[]> received = new CompletableFuture<>();
+        reading.send(
+            (status, headers, body) -> new PublisherAs(new Content.From(body)).bytes()
+                .thenAccept(received::complete)
+        );
+        this.gate.complete(null);
+        MatcherAssert.assertThat(
+            received.join(),
+            new IsEqual<>(CoalescingSliceTest.BODY)
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Fanout}.
+ *
+ * @since 0.4
+ */
+final class FanoutTest {
+
+    @Test
+    void shouldStreamBufferedBodyBeforeAllMembersArrive() {
+        final Fanout fanout = new Fanout(FanoutTest.chunks(3), 2, 4);
+        final TestSubscriber<ByteBuffer> first = new TestSubscriber<>();
+        fanout.member().subscribe(first);
+        first.assertValueCount(3).assertComplete();
+    }
+
+    @Test
+    void shouldReplayChunksToLateMember() {
+        final UnicastProcessor<ByteBuffer> origin = UnicastProcessor.create();
+        final Fanout fanout = new Fanout(origin, 2, 4);
+        final TestSubscriber<ByteBuffer> first = new TestSubscriber<>();
+        fanout.member().subscribe(first);
+        origin.onNext(ByteBuffer.wrap(new byte[]{1}));
+        origin.onNext(ByteBuffer.wrap(new byte[]{2}));
+        final TestSubscriber<ByteBuffer> late = new TestSubscriber<>();
+        fanout.member().subscribe(late);
+        origin.onNext(ByteBuffer.wrap(new byte[]{3}));
+        origin.onComplete();
+        late.assertValueCount(3).assertComplete();
+        MatcherAssert.assertThat(late.values().get(0).get(), new IsEqual<>((byte) 1));
+    }
+
+    @Test
+    void shouldFailLateMemberWhichMissedChunks() {
+        // @checkstyle MagicNumberCheck (1 line)
+        final Fanout fanout = new Fanout(FanoutTest.chunks(5), 2, 2);
+        fanout.member().subscribe(new TestSubscriber<>());
+        final TestSubscriber<ByteBuffer> late = new TestSubscriber<>();
+        fanout.member().subscribe(late);
+        late.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldWaitForAllUnbufferedMembers() {
+        final Fanout fanout = new Fanout(FanoutTest.chunks(1), 2);
+        final TestSubscriber<ByteBuffer> first = new TestSubscriber<>();
+        final Fanout.Member second = fanout.member();
+        fanout.member().subscribe(first);
+        first.assertNoValues();
+        second.release();
+        first.assertValueCount(1).assertComplete();
+    }
+
+    /**
+     * Origin body of single byte chunks.
+     *
+     * @param count Number of chunks.
+     * @return Body publisher.
+     */
+    private static Flowable<ByteBuffer> chunks(final int count) {
+        return Flowable.range(0, count).map(idx -> ByteBuffer.wrap(new byte[]{idx.byteValue()}));
+    }
+}
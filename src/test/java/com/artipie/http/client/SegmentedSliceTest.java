@@ -0,0 +1,379 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.client.jetty.JettyClientSlices;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SegmentedSlice}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class SegmentedSliceTest {
+
+    /**
+     * Resource content.
+     */
+    private static final byte[] DATA = IntStream.range(0, 1000)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.joining(","))
+        .getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Last modification date of resource.
+     */
+    private static final String MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    /**
+     * Number of requests sent to origin.
+     */
+    private AtomicInteger requests;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new AtomicInteger();
+    }
+
+    @Test
+    void shouldDownloadLargeResourceBySegments() {
+        final Slice slice = new SegmentedSlice(this.origin(true), 100, 3, 2);
+        MatcherAssert.assertThat(
+            SegmentedSliceTest.get(slice).join(),
+            new IsEqual<>(SegmentedSliceTest.text())
+        );
+        MatcherAssert.assertThat(
+            this.requests.get(),
+            new IsEqual<>((SegmentedSliceTest.DATA.length + 99) / 100)
+        );
+    }
+
+    @Test
+    void shouldDownloadSmallResourceAtOnce() {
+        final Slice slice = new SegmentedSlice(this.origin(true), 10_000, 3, 2);
+        MatcherAssert.assertThat(
+            SegmentedSliceTest.get(slice).join(),
+            new IsEqual<>(SegmentedSliceTest.text())
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldPassResponseOfOriginWithoutRanges() {
+        final Slice slice = new SegmentedSlice(this.origin(false), 100, 3, 2);
+        MatcherAssert.assertThat(
+            SegmentedSliceTest.get(slice).join(),
+            new IsEqual<>(SegmentedSliceTest.text())
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldFallBackToPlainRequestOnUnsatisfiableRange() {
+        final Slice slice = new SegmentedSlice(
+            (line, headers, body) -> {
+                this.requests.incrementAndGet();
+                final Response response;
+                if (new RqHeaders(headers, "Range").isEmpty()) {
+                    response = new RsFull(RsStatus.OK, Headers.EMPTY, Content.EMPTY);
+                } else {
+                    response = new RsWithStatus(new RsStatus.ByCode(416).find());
+                }
+                return response;
+            },
+            100, 3, 2
+        );
+        MatcherAssert.assertThat(SegmentedSliceTest.get(slice).join(), new IsEqual<>(""));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldCancelRangedBodyBeforeFallingBack() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Slice slice = new SegmentedSlice(
+            (line, headers, body) -> {
+                this.requests.incrementAndGet();
+                final Response response;
+                if (new RqHeaders(headers, "Range").isEmpty()) {
+                    response = new RsFull(RsStatus.OK, Headers.EMPTY, Content.EMPTY);
+                } else {
+                    response = connection -> connection.accept(
+                        new RsStatus.ByCode(416).find(),
+                        Headers.EMPTY,
+                        Flowable.just(ByteBuffer.wrap(new byte[] {1}))
+                            .doOnCancel(() -> cancelled.set(true))
+                    );
+                }
+                return response;
+            },
+            100, 3, 2
+        );
+        MatcherAssert.assertThat(SegmentedSliceTest.get(slice).join(), new IsEqual<>(""));
+        MatcherAssert.assertThat(cancelled.get(), new IsEqual<>(true));
+    }
+
+    @Test
+    void shouldRequestSegmentsOnlyWhileBodyIsRequested() {
+        final Slice slice = new SegmentedSlice(this.origin(true), 100, 3, 2);
+        final TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>(1);
+        slice.response(
+            new RequestLine(RqMethod.GET, "/layer.tar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                Flowable.fromPublisher(body).subscribe(subscriber);
+                return CompletableFuture.allOf();
+            }
+        );
+        MatcherAssert.assertThat(
+            "Segments requested ahead of body demand",
+            this.requests.get(),
+            Matchers.lessThanOrEqualTo(4)
+        );
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertComplete();
+        MatcherAssert.assertThat(
+            subscriber.values().stream()
+                .map(buf -> StandardCharsets.US_ASCII.decode(buf).toString())
+                .collect(Collectors.joining()),
+            new IsEqual<>(SegmentedSliceTest.text())
+        );
+        MatcherAssert.assertThat(
+            this.requests.get(),
+            new IsEqual<>((SegmentedSliceTest.DATA.length + 99) / 100)
+        );
+    }
+
+    @Test
+    void shouldFallBackToPlainRequestOnEncodedRange() {
+        final Slice slice = new SegmentedSlice(
+            this.origin(
+                () -> SegmentedSliceTest.DATA, true,
+                new Headers.From("Content-Encoding", "gzip")
+            ),
+            100, 3, 2
+        );
+        MatcherAssert.assertThat(
+            SegmentedSliceTest.get(slice).join(),
+            new IsEqual<>(SegmentedSliceTest.text())
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldFailWhenResourceChangesDuringDownload() {
+        final AtomicInteger version = new AtomicInteger();
+        final Slice slice = new SegmentedSlice(
+            this.origin(
+                () -> {
+                    final byte[] data;
+                    if (version.getAndIncrement() == 0) {
+                        data = SegmentedSliceTest.DATA;
+                    } else {
+                        data = Arrays.copyOf(
+                            SegmentedSliceTest.DATA, SegmentedSliceTest.DATA.length + 10
+                        );
+                    }
+                    return data;
+                },
+                true,
+                Headers.EMPTY
+            ),
+            100, 3, 2
+        );
+        MatcherAssert.assertThat(
+            SegmentedSliceTest.get(slice)
+                .handle((body, throwable) -> throwable != null)
+                .join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldUseLastModifiedAsRangeValidator() {
+        final List<String> validators = new CopyOnWriteArrayList<>();
+        final Slice origin = this.origin(
+            () -> SegmentedSliceTest.DATA, true,
+            new Headers.From("Last-Modified", SegmentedSliceTest.MODIFIED)
+        );
+        final Slice slice = new SegmentedSlice(
+            (line, headers, body) -> {
+                validators.addAll(new RqHeaders(headers, "If-Range"));
+                return origin.response(line, headers, body);
+            },
+            1000, 3, 2
+        );
+        SegmentedSliceTest.get(slice).join();
+        MatcherAssert.assertThat(
+            validators,
+            new IsEqual<>(
+                Arrays.asList(
+                    SegmentedSliceTest.MODIFIED,
+                    SegmentedSliceTest.MODIFIED,
+                    SegmentedSliceTest.MODIFIED
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldDownloadBySegmentsFromJettyOrigin() throws Exception {
+        final HttpServer server = new HttpServer();
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            final int port = server.start();
+            server.update(this.origin(true));
+            client.start();
+            MatcherAssert.assertThat(
+                SegmentedSliceTest.get(
+                    new SegmentedSlice(client.http("localhost", port), 100, 3, 2)
+                ).join(),
+                new IsEqual<>(SegmentedSliceTest.text())
+            );
+        } finally {
+            client.stop();
+            server.stop();
+        }
+    }
+
+    /**
+     * Resource content as text.
+     *
+     * @return Text.
+     */
+    private static String text() {
+        return new String(SegmentedSliceTest.DATA, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Send GET request and read response body, checking response status is OK.
+     *
+     * @param slice Slice.
+     * @return Response body.
+     */
+    private static CompletableFuture<String> get(final Slice slice) {
+        final CompletableFuture<String> received = new CompletableFuture<>();
+        slice.response(
+            new RequestLine(RqMethod.GET, "/layer.tar").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                MatcherAssert.assertThat(status, new IsEqual<>(RsStatus.OK));
+                return new PublisherAs(new Content.From(body)).asciiString()
+                    .thenAccept(received::complete);
+            }
+        ).handle(
+            (nothing, throwable) -> {
+                if (throwable != null) {
+                    received.completeExceptionally(throwable);
+                }
+                return nothing;
+            }
+        );
+        return received;
+    }
+
+    /**
+     * Origin slice serving resource content.
+     *
+     * @param ranges Whether origin supports range requests.
+     * @return Slice.
+     */
+    private Slice origin(final boolean ranges) {
+        return this.origin(() -> SegmentedSliceTest.DATA, ranges, Headers.EMPTY);
+    }
+
+    /**
+     * Origin slice serving resource content.
+     *
+     * @param content Resource content supplier called for each request.
+     * @param ranges Whether origin supports range requests.
+     * @param extra Extra headers of partial responses.
+     * @return Slice.
+     */
+    private Slice origin(
+        final Supplier<byte[]> content, final boolean ranges, final Headers extra
+    ) {
+        return (line, headers, body) -> {
+            this.requests.incrementAndGet();
+            final byte[] data = content.get();
+            final Matcher range = Pattern.compile("bytes=(\\d+)-(\\d+)").matcher(
+                new RqHeaders(headers, "Range").stream().findFirst().orElse("")
+            );
+            final Response response;
+            if (ranges && range.matches()) {
+                final int from = Integer.parseInt(range.group(1));
+                final int to = Math.min(Integer.parseInt(range.group(2)), data.length - 1);
+                response = new RsFull(
+                    new RsStatus.ByCode(206).find(),
+                    new Headers.From(
+                        extra,
+                        "Content-Range",
+                        String.format("bytes %d-%d/%d", from, to, data.length)
+                    ),
+                    new Content.From(Arrays.copyOfRange(data, from, to + 1))
+                );
+            } else {
+                response = new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From(data));
+            }
+            return response;
+        };
+    }
+}
@@ -23,12 +23,16 @@
  */
 package com.artipie.http.client;
 
+import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 /**
@@ -82,6 +86,203 @@ final class SettingsTest {
         );
     }
 
+    @Test
+    void defaultTransport() {
+        MatcherAssert.assertThat(
+            new Settings.Default().transport(),
+            new IsEqual<>(Settings.Transport.HTTP_1_1)
+        );
+    }
+
+    @Test
+    void defaultHttp2() {
+        final Settings.Http2 http2 = new Settings.Default().http2();
+        MatcherAssert.assertThat(
+            "Wrong session receive window",
+            http2.sessionRecvWindow(),
+            new IsEqual<>(16 * 1024 * 1024)
+        );
+        MatcherAssert.assertThat(
+            "Wrong stream receive window",
+            http2.streamRecvWindow(),
+            new IsEqual<>(8 * 1024 * 1024)
+        );
+        MatcherAssert.assertThat(
+            "Wrong max concurrent streams",
+            http2.maxConcurrentStreams(),
+            new IsEqual<>(1024)
+        );
+        MatcherAssert.assertThat(
+            "Wrong ping interval",
+            http2.pingInterval(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @Test
+    void defaultMaxConnectionsPerDestination() {
+        MatcherAssert.assertThat(
+            new Settings.Default().maxConnectionsPerDestination(),
+            new IsEqual<>(64)
+        );
+    }
+
+    @Test
+    void defaultMaxRequestsQueuedPerDestination() {
+        MatcherAssert.assertThat(
+            new Settings.Default().maxRequestsQueuedPerDestination(),
+            new IsEqual<>(1024)
+        );
+    }
+
+    @Test
+    void defaultMaxConnectionsPerHost() {
+        MatcherAssert.assertThat(
+            new Settings.Default().maxConnectionsPerHost().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void defaultPoolStrategy() {
+        MatcherAssert.assertThat(
+            new Settings.Default().poolStrategy(),
+            new IsEqual<>(Settings.PoolStrategy.LIFO)
+        );
+    }
+
+    @Test
+    void defaultPoolStrategyPerHost() {
+        MatcherAssert.assertThat(
+            new Settings.Default().poolStrategyPerHost().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void defaultWarmUp() {
+        final Settings settings = new Settings.Default();
+        MatcherAssert.assertThat(
+            "Wrong destinations",
+            settings.warmUpDestinations().isEmpty(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Wrong connections",
+            settings.warmUpConnections(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void defaultExecutor() {
+        MatcherAssert.assertThat(
+            new Settings.Default().executor().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void defaultThreads() {
+        final Settings.Threads threads = new Settings.Default().threads();
+        MatcherAssert.assertThat(
+            "Wrong min threads",
+            threads.min(),
+            new IsEqual<>(8)
+        );
+        MatcherAssert.assertThat(
+            "Wrong max threads",
+            threads.max(),
+            new IsEqual<>(200)
+        );
+        MatcherAssert.assertThat(
+            "Wrong reserved threads",
+            threads.reserved(),
+            new IsEqual<>(-1)
+        );
+        MatcherAssert.assertThat(
+            "Wrong virtual flag",
+            threads.virtual(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void defaultSelectors() {
+        MatcherAssert.assertThat(
+            new Settings.Default().selectors(),
+            Matchers.greaterThanOrEqualTo(1)
+        );
+    }
+
+    @Test
+    void defaultBuffers() {
+        final Settings.Buffers buffers = new Settings.Default().buffers();
+        MatcherAssert.assertThat(
+            "Wrong direct flag",
+            buffers.direct(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Wrong request buffer size",
+            buffers.requestBufferSize(),
+            new IsEqual<>(4096)
+        );
+        MatcherAssert.assertThat(
+            "Wrong response buffer size",
+            buffers.responseBufferSize(),
+            new IsEqual<>(16_384)
+        );
+    }
+
+    @Test
+    void defaultSocket() {
+        final Settings.Socket socket = new Settings.Default().socket();
+        MatcherAssert.assertThat(
+            "Wrong TCP_NODELAY",
+            socket.tcpNoDelay(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Wrong SO_KEEPALIVE",
+            socket.keepAlive(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Wrong SO_RCVBUF",
+            socket.receiveBufferSize(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Wrong SO_SNDBUF",
+            socket.sendBufferSize(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void defaultDns() {
+        final Settings.Dns dns = new Settings.Default().dns();
+        MatcherAssert.assertThat(
+            "Wrong TTL",
+            dns.ttl(),
+            new IsEqual<>(0L)
+        );
+        MatcherAssert.assertThat(
+            "Wrong negative TTL",
+            dns.negativeTtl(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @Test
+    void defaultConnectAttemptDelay() {
+        MatcherAssert.assertThat(
+            new Settings.Default().connectAttemptDelay(),
+            new IsEqual<>(0L)
+        );
+    }
+
     @Test
     void proxyFrom() {
         final boolean secure = true;
@@ -165,4 +366,325 @@ final class SettingsTest {
             new IsEqual<>(5_000L)
         );
     }
+
+    @ParameterizedTest
+    @EnumSource(Settings.Transport.class)
+    void withTransport(final Settings.Transport value) {
+        MatcherAssert.assertThat(
+            new Settings.WithTransport(value).transport(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withHttp2() {
+        final Settings.Http2 http2 = new Settings.Http2.Simple(1024, 512, 10, 5_000L);
+        MatcherAssert.assertThat(
+            new Settings.WithHttp2(http2).http2(),
+            new IsEqual<>(http2)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 256})
+    void withMaxConnections(final int value) {
+        MatcherAssert.assertThat(
+            new Settings.WithMaxConnections(value).maxConnectionsPerDestination(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, 4096})
+    void withMaxQueued(final int value) {
+        MatcherAssert.assertThat(
+            new Settings.WithMaxQueued(value).maxRequestsQueuedPerDestination(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withHostMaxConnections() {
+        MatcherAssert.assertThat(
+            new Settings.WithHostMaxConnections(
+                new Settings.WithHostMaxConnections("repo1.maven.org", 128),
+                "cold.example.com",
+                2
+            ).maxConnectionsPerHost(),
+            Matchers.allOf(
+                Matchers.hasEntry("repo1.maven.org", 128),
+                Matchers.hasEntry("cold.example.com", 2)
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(Settings.PoolStrategy.class)
+    void withPoolStrategy(final Settings.PoolStrategy value) {
+        MatcherAssert.assertThat(
+            new Settings.WithPoolStrategy(value).poolStrategy(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withHostPoolStrategy() {
+        MatcherAssert.assertThat(
+            new Settings.WithHostPoolStrategy(
+                new Settings.WithHostPoolStrategy("lb.example.com", Settings.PoolStrategy.RANDOM),
+                "registry.example.com",
+                Settings.PoolStrategy.ROUND_ROBIN
+            ).poolStrategyPerHost(),
+            Matchers.allOf(
+                Matchers.hasEntry("lb.example.com", Settings.PoolStrategy.RANDOM),
+                Matchers.hasEntry("registry.example.com", Settings.PoolStrategy.ROUND_ROBIN)
+            )
+        );
+    }
+
+    @Test
+    void withWarmUp() {
+        final URI uri = URI.create("https://repo1.maven.org");
+        final Settings settings = new Settings.WithWarmUp(4, uri);
+        MatcherAssert.assertThat(
+            "Wrong destinations",
+            settings.warmUpDestinations(),
+            Matchers.contains(uri)
+        );
+        MatcherAssert.assertThat(
+            "Wrong connections",
+            settings.warmUpConnections(),
+            new IsEqual<>(4)
+        );
+    }
+
+    @Test
+    void withExecutor() {
+        final Executor executor = Runnable::run;
+        MatcherAssert.assertThat(
+            new Settings.WithExecutor(executor).executor(),
+            new IsEqual<>(Optional.of(executor))
+        );
+    }
+
+    @Test
+    void withThreads() {
+        final Settings.Threads threads = new Settings.Threads.Simple(2, 16, 1);
+        MatcherAssert.assertThat(
+            new Settings.WithThreads(threads).threads(),
+            new IsEqual<>(threads)
+        );
+    }
+
+    @Test
+    void virtualThreads() {
+        MatcherAssert.assertThat(
+            new Settings.Threads.Virtual().virtual(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 32})
+    void withSelectors(final int value) {
+        MatcherAssert.assertThat(
+            new Settings.WithSelectors(value).selectors(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withBuffers() {
+        final Settings.Buffers buffers = new Settings.Buffers.Simple(
+            false, 4096, 64, 64 * 1024 * 1024, 8192, 65_536
+        );
+        MatcherAssert.assertThat(
+            new Settings.WithBuffers(buffers).buffers(),
+            new IsEqual<>(buffers)
+        );
+    }
+
+    @Test
+    void withSocket() {
+        final Settings.Socket socket = new Settings.Socket.Simple(false, true, 1024, 2048);
+        MatcherAssert.assertThat(
+            new Settings.WithSocket(socket).socket(),
+            new IsEqual<>(socket)
+        );
+    }
+
+    @Test
+    void withDns() {
+        final Settings.Dns dns = new Settings.Dns.Simple(60_000L, 5_000L);
+        MatcherAssert.assertThat(
+            new Settings.WithDns(dns).dns(),
+            new IsEqual<>(dns)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 250, 1_000})
+    void withConnectAttemptDelay(final long value) {
+        MatcherAssert.assertThat(
+            new Settings.WithConnectAttemptDelay(value).connectAttemptDelay(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withConnectAttemptDelayInMillis() {
+        MatcherAssert.assertThat(
+            new Settings.WithConnectAttemptDelay(
+                new Settings.Default(), 1, TimeUnit.SECONDS
+            ).connectAttemptDelay(),
+            new IsEqual<>(1_000L)
+        );
+    }
+
+    @Test
+    void defaultRequestTimeout() {
+        MatcherAssert.assertThat(
+            new Settings.Default().requestTimeout(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 10, 20_000})
+    void withRequestTimeout(final long value) {
+        MatcherAssert.assertThat(
+            new Settings.WithRequestTimeout(value).requestTimeout(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withRequestTimeoutInSeconds() {
+        MatcherAssert.assertThat(
+            new Settings.WithRequestTimeout(5, TimeUnit.SECONDS).requestTimeout(),
+            new IsEqual<>(5_000L)
+        );
+    }
+
+    @Test
+    void defaultTlsHandshakeTimeout() {
+        MatcherAssert.assertThat(
+            new Settings.Default().tlsHandshakeTimeout(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 10, 20_000})
+    void withTlsHandshakeTimeout(final long value) {
+        MatcherAssert.assertThat(
+            new Settings.WithTlsHandshakeTimeout(value).tlsHandshakeTimeout(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withTlsHandshakeTimeoutInSeconds() {
+        MatcherAssert.assertThat(
+            new Settings.WithTlsHandshakeTimeout(5, TimeUnit.SECONDS).tlsHandshakeTimeout(),
+            new IsEqual<>(5_000L)
+        );
+    }
+
+    @Test
+    void defaultFirstByteTimeout() {
+        MatcherAssert.assertThat(
+            new Settings.Default().firstByteTimeout(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 10, 20_000})
+    void withFirstByteTimeout(final long value) {
+        MatcherAssert.assertThat(
+            new Settings.WithFirstByteTimeout(value).firstByteTimeout(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void withFirstByteTimeoutInSeconds() {
+        MatcherAssert.assertThat(
+            new Settings.WithFirstByteTimeout(5, TimeUnit.SECONDS).firstByteTimeout(),
+            new IsEqual<>(5_000L)
+        );
+    }
+
+    @Test
+    void defaultDrainLimit() {
+        MatcherAssert.assertThat(
+            new Settings.Default().drainLimit(),
+            new IsEqual<>(-1L)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {-1, 0, 1024})
+    void withDrainLimit(final long value) {
+        MatcherAssert.assertThat(
+            new Settings.WithDrainLimit(value).drainLimit(),
+            new IsEqual<>(value)
+        );
+    }
+
+    @Test
+    void decoratorsKeepOtherSettings() {
+        final Settings settings = new Settings.WithDrainLimit(
+            new Settings.WithRequestTimeout(
+                new Settings.WithMaxConnections(new Settings.WithTrustAll(true), 3),
+                1000L
+            ),
+            10L
+        );
+        MatcherAssert.assertThat(
+            String.format(
+                "%b %d %d %d",
+                settings.trustAll(),
+                settings.maxConnectionsPerDestination(),
+                settings.requestTimeout(),
+                settings.drainLimit()
+            ),
+            new IsEqual<>("true 3 1000 10")
+        );
+    }
+
+    @Test
+    void implementationOfOriginalSettingsHasDefaults() {
+        final Settings settings = new Settings() {
+            @Override
+            public Optional<Proxy> proxy() {
+                return Optional.empty();
+            }
+
+            @Override
+            public boolean trustAll() {
+                return true;
+            }
+
+            @Override
+            public boolean followRedirects() {
+                return false;
+            }
+
+            @Override
+            public long connectTimeout() {
+                return 0L;
+            }
+
+            @Override
+            public long idleTimeout() {
+                return 0L;
+            }
+        };
+        MatcherAssert.assertThat(
+            settings.transport(),
+            new IsEqual<>(new Settings.Default().transport())
+        );
+    }
 }
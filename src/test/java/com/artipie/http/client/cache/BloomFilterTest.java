@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BloomFilter}.
+ *
+ * @since 0.4
+ */
+final class BloomFilterTest {
+
+    @Test
+    void shouldContainAddedStrings() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01);
+        IntStream.range(0, 1000).forEach(idx -> filter.add(String.format("/item/%d", idx)));
+        MatcherAssert.assertThat(
+            IntStream.range(0, 1000)
+                .allMatch(idx -> filter.mightContain(String.format("/item/%d", idx))),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldRarelyContainOtherStrings() {
+        final BloomFilter filter = new BloomFilter(1000, 0.01);
+        IntStream.range(0, 1000).forEach(idx -> filter.add(String.format("/item/%d", idx)));
+        MatcherAssert.assertThat(
+            IntStream.range(0, 10_000)
+                .filter(idx -> filter.mightContain(String.format("/other/%d", idx)))
+                .count() < 500,
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldNotContainAnythingAfterClear() {
+        final BloomFilter filter = new BloomFilter(10, 0.01);
+        filter.add("/cleared");
+        filter.clear();
+        MatcherAssert.assertThat(filter.mightContain("/cleared"), new IsEqual<>(false));
+    }
+}
@@ -0,0 +1,465 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Tests for {@link CachingSlice}.
+ *
+ * @since 0.4
+ */
+final class CachingSliceTest {
+
+    /**
+     * Number of requests sent to origin.
+     */
+    private AtomicInteger requests;
+
+    /**
+     * Cache.
+     */
+    private MemoryCache cache;
+
+    /**
+     * Cache statistics.
+     */
+    private CacheStats stats;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new AtomicInteger();
+        this.stats = new CacheStats();
+        this.cache = new MemoryCache(1024 * 1024, this.stats);
+    }
+
+    @Test
+    void shouldServeFreshResponseFromCache() {
+        final Slice slice = this.slice(new Headers.From("Cache-Control", "max-age=60"));
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                slice.response(
+                    new RequestLine(RqMethod.GET, "/maven-metadata.xml").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasBody("metadata", StandardCharsets.UTF_8)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldAddAgeToCachedResponse() {
+        final Slice slice = this.slice(new Headers.From("Cache-Control", "max-age=60"));
+        this.request(slice, "/package.json", Headers.EMPTY);
+        final AtomicReference<String> age = new AtomicReference<>();
+        slice.response(
+            new RequestLine(RqMethod.GET, "/package.json").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                age.set(new RqHeaders(headers, "Age").get(0));
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(age.get(), new IsEqual<>("0"));
+    }
+
+    @Test
+    void shouldNotCacheResponseWithoutLifetime() {
+        final Slice slice = this.slice(Headers.EMPTY);
+        this.request(slice, "/index.html", Headers.EMPTY);
+        this.request(slice, "/index.html", Headers.EMPTY);
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldBypassCacheForNoCacheRequest() {
+        final Slice slice = this.slice(new Headers.From("Cache-Control", "max-age=60"));
+        this.request(slice, "/manifest", Headers.EMPTY);
+        this.request(slice, "/manifest", new Headers.From("Cache-Control", "no-cache"));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldFetchResponseForDifferentVaryingHeader() {
+        final Slice slice = this.slice(
+            new Headers.From(new Headers.From("Cache-Control", "max-age=60"), "Vary", "Accept")
+        );
+        this.request(slice, "/v2/manifest", new Headers.From("Accept", "application/json"));
+        this.request(slice, "/v2/manifest", new Headers.From("Accept", "application/json"));
+        this.request(slice, "/v2/manifest", new Headers.From("Accept", "text/plain"));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldFetchResponseWhenCachedOneFailsToLoad() {
+        final AtomicInteger deleted = new AtomicInteger();
+        final Slice broken = new CachingSlice(
+            (line, headers, body) -> {
+                this.requests.incrementAndGet();
+                return new RsWithBody(StandardRs.OK, "metadata", StandardCharsets.UTF_8);
+            },
+            new ResponseCache() {
+                @Override
+                public CompletionStage<Optional<Entry>> load(final String key) {
+                    final CompletableFuture<Optional<Entry>> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("Body is missing"));
+                    return failed;
+                }
+
+                @Override
+                public CompletionStage<Void> save(
+                    final String key, final Metadata meta, final Publisher<ByteBuffer> body
+                ) {
+                    return CachingSliceTest.this.cache.save(key, meta, body);
+                }
+
+                @Override
+                public CompletionStage<Void> update(final String key, final Metadata meta) {
+                    return CachingSliceTest.this.cache.update(key, meta);
+                }
+
+                @Override
+                public CompletionStage<Void> delete(final String key) {
+                    deleted.incrementAndGet();
+                    return CachingSliceTest.this.cache.delete(key);
+                }
+            }
+        );
+        this.request(broken, "/broken", Headers.EMPTY);
+        MatcherAssert.assertThat(
+            "Response is fetched from origin",
+            this.requests.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Response is not deleted, it may be replaced concurrently",
+            deleted.get(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void shouldPassRangeRequestToOrigin() {
+        final Slice slice = this.slice(new Headers.From("Cache-Control", "max-age=60"));
+        this.request(slice, "/artifact.jar", Headers.EMPTY);
+        this.request(slice, "/artifact.jar", new Headers.From("Range", "bytes=0-3"));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldCountOnlyServedResponsesAsHits() {
+        final Slice slice = this.slice(
+            new Headers.From(new Headers.From("Cache-Control", "max-age=60"), "Vary", "Accept")
+        );
+        this.request(slice, "/v2/tags", new Headers.From("Accept", "application/json"));
+        this.request(slice, "/v2/tags", new Headers.From("Accept", "application/json"));
+        this.request(slice, "/v2/tags", new Headers.From("Accept", "text/plain"));
+        MatcherAssert.assertThat(
+            "Served cached response is counted as hit",
+            this.stats.hits(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Absent and not matching responses are counted as misses",
+            this.stats.misses(),
+            new IsEqual<>(2L)
+        );
+    }
+
+    @Test
+    void shouldNotCacheAuthorizedRequestsByDefault() {
+        final Slice slice = this.slice(new Headers.From("Cache-Control", "max-age=60"));
+        this.request(slice, "/private", new Headers.From("Authorization", "Basic YWxhZGRpbg=="));
+        this.request(slice, "/private", new Headers.From("Authorization", "Basic YWxhZGRpbg=="));
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldRevalidateStaleResponse() {
+        final List<String> conditions = new CopyOnWriteArrayList<>();
+        final Slice slice = new CachingSlice(
+            (line, rqheaders, body) -> {
+                this.requests.incrementAndGet();
+                final List<String> match = new RqHeaders(rqheaders, "If-None-Match");
+                conditions.addAll(match);
+                final Response response;
+                if (match.contains("\"v1\"")) {
+                    response = new RsWithHeaders(
+                        new RsWithStatus(RsStatus.NOT_MODIFIED),
+                        new Headers.From("X-Revalidated", "true")
+                    );
+                } else {
+                    response = new RsWithBody(
+                        new RsWithHeaders(StandardRs.OK, new Headers.From("ETag", "\"v1\"")),
+                        "metadata",
+                        StandardCharsets.UTF_8
+                    );
+                }
+                return response;
+            },
+            this.cache
+        );
+        this.request(slice, "/package", Headers.EMPTY);
+        final AtomicReference<String> revalidated = new AtomicReference<>();
+        final CompletableFuture<String> received = new CompletableFuture<>();
+        slice.response(
+            new RequestLine(RqMethod.GET, "/package").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                revalidated.set(String.join(",", new RqHeaders(headers, "X-Revalidated")));
+                return new PublisherAs(new Content.From(body)).asciiString()
+                    .thenAccept(received::complete);
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Cached body is served",
+            received.join(),
+            new IsEqual<>("metadata")
+        );
+        MatcherAssert.assertThat(
+            "Conditional request is sent",
+            conditions,
+            Matchers.contains("\"v1\"")
+        );
+        MatcherAssert.assertThat(
+            "Headers are refreshed",
+            revalidated.get(),
+            new IsEqual<>("true")
+        );
+    }
+
+    @Test
+    void shouldServeStaleWhileRevalidating() {
+        final Slice slice = new CachingSlice(
+            (line, rqheaders, body) -> new RsWithBody(
+                new RsWithHeaders(StandardRs.OK, new Headers.From("Cache-Control", "max-age=0")),
+                String.format("v%d", this.requests.incrementAndGet()),
+                StandardCharsets.UTF_8
+            ),
+            this.cache,
+            "",
+            Duration.ofMinutes(1)
+        );
+        final List<String> bodies = new ArrayList<>(3);
+        for (int idx = 0; idx < 3; idx += 1) {
+            bodies.add(this.body(slice, "/stale"));
+        }
+        MatcherAssert.assertThat(
+            "Stale response is served while revalidating",
+            bodies,
+            Matchers.contains("v1", "v1", "v2")
+        );
+        MatcherAssert.assertThat(
+            "Response is revalidated in background on every stale hit",
+            this.requests.get(),
+            new IsEqual<>(3)
+        );
+    }
+
+    @Test
+    void shouldServeStaleOnError() {
+        final Slice slice = new CachingSlice(
+            (line, rqheaders, body) -> {
+                final Response response;
+                if (this.requests.incrementAndGet() == 1) {
+                    response = new RsWithBody(
+                        new RsWithHeaders(
+                            StandardRs.OK,
+                            new Headers.From(
+                                new Headers.From(
+                                    "Cache-Control", "max-age=5, stale-while-revalidate=0"
+                                ),
+                                "Age", "10"
+                            )
+                        ),
+                        "cached",
+                        StandardCharsets.UTF_8
+                    );
+                } else {
+                    response = new RsWithStatus(RsStatus.INTERNAL_ERROR);
+                }
+                return response;
+            },
+            this.cache,
+            "",
+            Duration.ofMinutes(1)
+        );
+        this.body(slice, "/outage");
+        MatcherAssert.assertThat(
+            this.body(slice, "/outage"),
+            new IsEqual<>("cached")
+        );
+    }
+
+    @Test
+    void shouldNotServeStaleIfNotConfigured() {
+        final Slice slice = new CachingSlice(
+            (line, rqheaders, body) -> new RsWithBody(
+                new RsWithHeaders(StandardRs.OK, new Headers.From("Cache-Control", "max-age=0")),
+                String.format("v%d", this.requests.incrementAndGet()),
+                StandardCharsets.UTF_8
+            ),
+            this.cache
+        );
+        this.body(slice, "/not-stale");
+        MatcherAssert.assertThat(
+            this.body(slice, "/not-stale"),
+            new IsEqual<>("v2")
+        );
+    }
+
+    @Test
+    void shouldNotCacheResponseWithFailedBody() {
+        final Slice slice = new CachingSlice(
+            (line, rqheaders, body) -> {
+                final Publisher<ByteBuffer> rsbody;
+                if (this.requests.incrementAndGet() == 1) {
+                    rsbody = Flowable.concat(
+                        Flowable.just(ByteBuffer.wrap("part".getBytes(StandardCharsets.UTF_8))),
+                        Flowable.error(new IllegalStateException("Connection reset"))
+                    );
+                } else {
+                    rsbody = Flowable.just(
+                        ByteBuffer.wrap("complete".getBytes(StandardCharsets.UTF_8))
+                    );
+                }
+                return new RsFull(
+                    RsStatus.OK, new Headers.From("Cache-Control", "max-age=60"), rsbody
+                );
+            },
+            this.cache
+        );
+        MatcherAssert.assertThat(
+            slice.response(
+                new RequestLine(RqMethod.GET, "/broken").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send(
+                (status, headers, body) -> new PublisherAs(new Content.From(body)).bytes()
+                    .thenAccept(bytes -> { })
+            ).handle((nothing, throwable) -> throwable != null).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            this.body(slice, "/broken"),
+            new IsEqual<>("complete")
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    /**
+     * Send request and read response body.
+     *
+     * @param slice Slice.
+     * @param path Request path.
+     * @return Response body.
+     */
+    private String body(final Slice slice, final String path) {
+        final CompletableFuture<String> received = new CompletableFuture<>();
+        slice.response(
+            new RequestLine(RqMethod.GET, path).toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        ).send(
+            (status, headers, body) -> new PublisherAs(new Content.From(body)).asciiString()
+                .thenAccept(received::complete)
+        ).toCompletableFuture().join();
+        return received.join();
+    }
+
+    /**
+     * Create caching slice over origin responding with specified headers.
+     *
+     * @param headers Origin response headers.
+     * @return Caching slice.
+     */
+    private Slice slice(final Headers headers) {
+        return new CachingSlice(
+            (line, rqheaders, body) -> {
+                this.requests.incrementAndGet();
+                return new RsWithBody(
+                    new RsWithHeaders(StandardRs.OK, headers),
+                    "metadata",
+                    StandardCharsets.UTF_8
+                );
+            },
+            this.cache,
+            "",
+            Duration.ZERO,
+            this.stats
+        );
+    }
+
+    /**
+     * Send request and read response.
+     *
+     * @param slice Slice.
+     * @param path Request path.
+     * @param headers Request headers.
+     */
+    private void request(final Slice slice, final String path, final Headers headers) {
+        MatcherAssert.assertThat(
+            slice.response(new RequestLine(RqMethod.GET, path).toString(), headers, Content.EMPTY),
+            new RsHasBody("metadata", StandardCharsets.UTF_8)
+        );
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DigestCacheSlice}.
+ *
+ * @since 0.4
+ */
+final class DigestCacheSliceTest {
+
+    /**
+     * Blob content.
+     */
+    private static final byte[] BLOB = "blob content".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Number of requests sent to origin.
+     */
+    private AtomicInteger requests;
+
+    /**
+     * Origin slice responding with blob content to all requests.
+     */
+    private Slice origin;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new AtomicInteger();
+        this.origin = (line, headers, body) -> {
+            this.requests.incrementAndGet();
+            return new RsWithBody(new RsWithStatus(RsStatus.OK), DigestCacheSliceTest.BLOB);
+        };
+    }
+
+    @Test
+    void shouldServeBlobFromCacheAcrossRepositories() throws Exception {
+        final Slice slice = new DigestCacheSlice(this.origin, new InMemoryStorage());
+        final String digest = DigestCacheSliceTest.sha256(DigestCacheSliceTest.BLOB);
+        for (final String name : new String[] {"library/alpine", "mirror/alpine", "alpine"}) {
+            MatcherAssert.assertThat(
+                DigestCacheSliceTest.get(
+                    slice, String.format("/v2/%s/blobs/sha256:%s", name, digest)
+                ),
+                new RsHasBody(DigestCacheSliceTest.BLOB)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldNotCacheContentWithWrongDigest() {
+        final Slice slice = new DigestCacheSlice(this.origin, new InMemoryStorage());
+        final String path = String.format("/v2/alpine/blobs/sha256:%064d", 0);
+        for (int idx = 0; idx < 2; idx += 1) {
+            MatcherAssert.assertThat(
+                DigestCacheSliceTest.get(slice, path),
+                new RsHasBody(DigestCacheSliceTest.BLOB)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldPassOtherPathsToOrigin() throws Exception {
+        final Slice slice = new DigestCacheSlice(this.origin, new InMemoryStorage());
+        final String path = String.format(
+            "/v2/alpine/manifests/sha256:%s", DigestCacheSliceTest.sha256(DigestCacheSliceTest.BLOB)
+        );
+        for (int idx = 0; idx < 2; idx += 1) {
+            MatcherAssert.assertThat(
+                DigestCacheSliceTest.get(slice, path),
+                new RsHasBody(DigestCacheSliceTest.BLOB)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldUseCustomPatterns() throws Exception {
+        final Slice slice = new DigestCacheSlice(
+            this.origin,
+            new InMemoryStorage(),
+            Collections.singleton(
+                Pattern.compile("/by-hash/(?<alg>sha256)/(?<digest>[a-f0-9]{64})")
+            )
+        );
+        final String path = String.format(
+            "/by-hash/sha256/%s", DigestCacheSliceTest.sha256(DigestCacheSliceTest.BLOB)
+        );
+        for (int idx = 0; idx < 2; idx += 1) {
+            MatcherAssert.assertThat(
+                DigestCacheSliceTest.get(slice, path),
+                new RsHasBody(DigestCacheSliceTest.BLOB)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldReplayOriginHeadersFromCache() throws Exception {
+        final String digest = DigestCacheSliceTest.sha256(DigestCacheSliceTest.BLOB);
+        final Slice slice = new DigestCacheSlice(
+            (line, headers, body) -> {
+                this.requests.incrementAndGet();
+                return new RsWithBody(
+                    new RsWithHeaders(
+                        new RsWithStatus(RsStatus.OK),
+                        new Headers.From(
+                            new Header("Content-Type", "application/octet-stream"),
+                            new Header("Docker-Content-Digest", String.format("sha256:%s", digest)),
+                            new Header("ETag", digest),
+                            new Header("Date", "Mon, 01 Jan 2024 00:00:00 GMT")
+                        )
+                    ),
+                    DigestCacheSliceTest.BLOB
+                );
+            },
+            new InMemoryStorage()
+        );
+        final String path = String.format("/v2/alpine/blobs/sha256:%s", digest);
+        MatcherAssert.assertThat(
+            DigestCacheSliceTest.get(slice, path),
+            new RsHasBody(DigestCacheSliceTest.BLOB)
+        );
+        for (final RqMethod method : new RqMethod[] {RqMethod.GET, RqMethod.HEAD}) {
+            MatcherAssert.assertThat(
+                method.value(),
+                slice.response(
+                    new RequestLine(method, path).toString(), Headers.EMPTY, Content.EMPTY
+                ),
+                new RsHasHeaders(
+                    Matchers.allOf(
+                        Matchers.hasItem(new Header("Content-Type", "application/octet-stream")),
+                        Matchers.hasItem(
+                            new Header("Docker-Content-Digest", String.format("sha256:%s", digest))
+                        ),
+                        Matchers.hasItem(new Header("ETag", digest)),
+                        Matchers.hasItem(
+                            new Header(
+                                "Content-Length",
+                                String.valueOf(DigestCacheSliceTest.BLOB.length)
+                            )
+                        ),
+                        Matchers.not(
+                            Matchers.hasItem(
+                                new Header("Date", "Mon, 01 Jan 2024 00:00:00 GMT")
+                            )
+                        )
+                    )
+                )
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    /**
+     * Send GET request.
+     *
+     * @param slice Slice.
+     * @param path Request path.
+     * @return Response.
+     */
+    private static Response get(final Slice slice, final String path) {
+        return slice.response(
+            new RequestLine(RqMethod.GET, path).toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+    }
+
+    /**
+     * Calculate SHA-256 digest.
+     *
+     * @param bytes Bytes.
+     * @return Hex encoded digest.
+     * @throws Exception If failed.
+     */
+    private static String sha256(final byte[] bytes) throws Exception {
+        return String.format(
+            "%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(bytes))
+        );
+    }
+}
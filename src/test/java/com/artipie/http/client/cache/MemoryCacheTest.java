@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MemoryCache}.
+ *
+ * @since 0.4
+ */
+final class MemoryCacheTest {
+
+    @Test
+    void shouldLoadSavedResponse() {
+        final MemoryCache cache = new MemoryCache(1024);
+        final byte[] body = "cached".getBytes();
+        cache.save("/a", MemoryCacheTest.meta(), Flowable.just(ByteBuffer.wrap(body)))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                new Content.From(cache.load("/a").toCompletableFuture().join().get().body())
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(body)
+        );
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        final MemoryCache cache = new MemoryCache(250);
+        cache.save("/one", MemoryCacheTest.meta(), MemoryCacheTest.body(100))
+            .toCompletableFuture().join();
+        cache.save("/two", MemoryCacheTest.meta(), MemoryCacheTest.body(100))
+            .toCompletableFuture().join();
+        cache.load("/one").toCompletableFuture().join();
+        cache.save("/three", MemoryCacheTest.meta(), MemoryCacheTest.body(100))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Recently used response is kept",
+            cache.load("/one").toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Least recently used response is evicted",
+            cache.load("/two").toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Eviction is counted",
+            cache.stats().evictions(),
+            new IsEqual<>(1L)
+        );
+    }
+
+    @Test
+    void shouldNotSaveResponseLargerThanCapacity() {
+        final MemoryCache cache = new MemoryCache(10);
+        MatcherAssert.assertThat(
+            "Save fails",
+            cache.save("/large", MemoryCacheTest.meta(), MemoryCacheTest.body(100))
+                .toCompletableFuture().isCompletedExceptionally(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Response is not cached",
+            cache.load("/large").toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldStopReadingBodyExceedingCapacity() {
+        final MemoryCache cache = new MemoryCache(25);
+        final AtomicInteger read = new AtomicInteger();
+        final CompletableFuture<Void> saved = cache.save(
+            "/stream",
+            MemoryCacheTest.meta(),
+            Flowable.range(0, 100)
+                .map(idx -> ByteBuffer.wrap(new byte[10]))
+                .doOnNext(buf -> read.incrementAndGet())
+        ).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Save fails",
+            saved.isCompletedExceptionally(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Body is read only until capacity is exceeded",
+            read.get(),
+            new IsEqual<>(3)
+        );
+    }
+
+    @Test
+    void shouldNotReadBodyWithContentLengthExceedingCapacity() {
+        final MemoryCache cache = new MemoryCache(10);
+        final AtomicBoolean subscribed = new AtomicBoolean();
+        final CompletableFuture<Void> saved = cache.save(
+            "/declared",
+            new Metadata(
+                RsStatus.OK,
+                new Headers.From("Content-Length", "100"),
+                Headers.EMPTY,
+                Instant.now()
+            ),
+            MemoryCacheTest.body(100).doOnSubscribe(sub -> subscribed.set(true))
+        ).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Save fails",
+            saved.isCompletedExceptionally(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Body is not read",
+            subscribed.get(),
+            new IsEqual<>(false)
+        );
+    }
+
+    /**
+     * Create response metadata.
+     *
+     * @return Metadata.
+     */
+    private static Metadata meta() {
+        return new Metadata(RsStatus.OK, Headers.EMPTY, Headers.EMPTY, Instant.now());
+    }
+
+    /**
+     * Create response body.
+     *
+     * @param size Body size.
+     * @return Body publisher.
+     */
+    private static Flowable<ByteBuffer> body(final int size) {
+        return Flowable.just(ByteBuffer.wrap(new byte[size]));
+    }
+}
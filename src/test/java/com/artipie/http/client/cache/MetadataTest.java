@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rs.RsStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link Metadata}.
+ *
+ * @since 0.4
+ */
+final class MetadataTest {
+
+    /**
+     * Time response was received.
+     */
+    private static final Instant STORED = Instant.parse("2021-07-01T10:00:00Z");
+
+    @Test
+    void shouldPreferSharedMaxAge() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(
+                new Headers.From("Cache-Control", "max-age=60, s-maxage=120")
+            ).lifetime(),
+            new IsEqual<>(Optional.of(120L))
+        );
+    }
+
+    @Test
+    void shouldCalculateLifetimeFromExpires() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(
+                new Headers.From(
+                    new Headers.From("Date", "Thu, 01 Jul 2021 10:00:00 GMT"),
+                    "Expires", "Thu, 01 Jul 2021 11:00:00 GMT"
+                )
+            ).lifetime(),
+            new IsEqual<>(Optional.of(3600L))
+        );
+    }
+
+    @Test
+    void shouldAddTimeInCacheToAge() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Age", "10"))
+                .age(MetadataTest.STORED.plus(Duration.ofSeconds(5))),
+            new IsEqual<>(15L)
+        );
+    }
+
+    @Test
+    void shouldBeFreshWithinLifetime() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Cache-Control", "max-age=60"))
+                .fresh(MetadataTest.STORED.plus(Duration.ofSeconds(59))),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldBeStaleAfterLifetime() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Cache-Control", "max-age=60"))
+                .fresh(MetadataTest.STORED.plus(Duration.ofSeconds(60))),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldNotBeFreshWithNoCache() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Cache-Control", "no-cache, max-age=60"))
+                .fresh(MetadataTest.STORED),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldServeUpdatedAge() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Age", "3"))
+                .headers(MetadataTest.STORED.plus(Duration.ofSeconds(2))),
+            Matchers.hasItem(new Header("Age", "5"))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"no-store", "private", "no-cache"})
+    void shouldNotBeStorableWithoutLifetime(final String directive) {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Cache-Control", directive)).storable(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldNotBeStorableWhenVaryingByAll() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(
+                new Headers.From(new Headers.From("Cache-Control", "max-age=60"), "Vary", "*")
+            ).storable(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldNotStorePartialContent() {
+        MatcherAssert.assertThat(
+            new Metadata(
+                new RsStatus.ByCode(206).find(),
+                new Headers.From("Cache-Control", "public, max-age=60"),
+                Headers.EMPTY,
+                MetadataTest.STORED
+            ).storable(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldBeStorableWithLifetime() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("Cache-Control", "public, max-age=60")).storable(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldMatchRequestWithSameVaryingHeaders() {
+        final Metadata meta = new Metadata(
+            RsStatus.OK,
+            new Headers.From("Vary", "Accept"),
+            new Headers.From("Accept", "application/json"),
+            MetadataTest.STORED
+        );
+        MatcherAssert.assertThat(
+            "Request with same header matches",
+            meta.matches(new Headers.From("accept", "application/json")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Request with different header does not match",
+            meta.matches(new Headers.From("Accept", "text/html")),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldBeStorableWithValidators() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(new Headers.From("ETag", "\"abc\"")).storable(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldBuildConditions() {
+        MatcherAssert.assertThat(
+            MetadataTest.meta(
+                new Headers.From(
+                    new Headers.From("ETag", "\"abc\""),
+                    "Last-Modified", "Thu, 01 Jul 2021 09:00:00 GMT"
+                )
+            ).conditions(),
+            Matchers.contains(
+                new Header("If-None-Match", "\"abc\""),
+                new Header("If-Modified-Since", "Thu, 01 Jul 2021 09:00:00 GMT")
+            )
+        );
+    }
+
+    @Test
+    void shouldRefreshHeadersAndTime() {
+        final Instant now = MetadataTest.STORED.plus(Duration.ofHours(1));
+        final Metadata refreshed = MetadataTest.meta(
+            new Headers.From(
+                new Headers.From("Cache-Control", "max-age=60"),
+                "Content-Type", "application/json"
+            )
+        ).refreshed(
+            new Headers.From(
+                new Headers.From("Cache-Control", "max-age=120"),
+                "Content-Length", "0"
+            ),
+            now
+        );
+        MatcherAssert.assertThat(
+            "Headers are merged",
+            refreshed.headers(),
+            Matchers.containsInAnyOrder(
+                new Header("Content-Type", "application/json"),
+                new Header("Cache-Control", "max-age=120")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Response is fresh again",
+            refreshed.fresh(now),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Create metadata of response with headers.
+     *
+     * @param headers Response headers.
+     * @return Metadata.
+     */
+    private static Metadata meta(final Headers headers) {
+        return new Metadata(RsStatus.OK, headers, Headers.EMPTY, MetadataTest.STORED);
+    }
+}
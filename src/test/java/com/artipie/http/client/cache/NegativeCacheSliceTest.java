@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link NegativeCacheSlice}.
+ *
+ * @since 0.4
+ */
+final class NegativeCacheSliceTest {
+
+    /**
+     * Number of requests sent to origin.
+     */
+    private AtomicInteger requests;
+
+    /**
+     * Origin slice responding with 404 to all requests except `/found`.
+     */
+    private Slice origin;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new AtomicInteger();
+        this.origin = (line, headers, body) -> {
+            this.requests.incrementAndGet();
+            final RsStatus status;
+            if (line.contains("/found")) {
+                status = RsStatus.OK;
+            } else {
+                status = RsStatus.NOT_FOUND;
+            }
+            return new RsWithBody(
+                new RsWithHeaders(new RsWithStatus(status), new Headers.From("X-Origin", "maven")),
+                "not here",
+                StandardCharsets.UTF_8
+            );
+        };
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldAnswerRepeatedMissLocally(final boolean bloom) {
+        final Slice slice = new NegativeCacheSlice(
+            this.origin, Duration.ofMinutes(1), 100, bloom
+        );
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                NegativeCacheSliceTest.status(slice, "/missing.jar"),
+                new IsEqual<>(RsStatus.NOT_FOUND)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldNotRememberFoundResources() {
+        final Slice slice = new NegativeCacheSlice(this.origin, Duration.ofMinutes(1), 100, true);
+        MatcherAssert.assertThat(
+            NegativeCacheSliceTest.status(slice, "/found"),
+            new IsEqual<>(RsStatus.OK)
+        );
+        MatcherAssert.assertThat(
+            NegativeCacheSliceTest.status(slice, "/found"),
+            new IsEqual<>(RsStatus.OK)
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldForgetExpiredMiss() {
+        final Slice slice = new NegativeCacheSlice(this.origin, Duration.ZERO, 100);
+        MatcherAssert.assertThat(
+            NegativeCacheSliceTest.status(slice, "/expired"),
+            new IsEqual<>(RsStatus.NOT_FOUND)
+        );
+        MatcherAssert.assertThat(
+            NegativeCacheSliceTest.status(slice, "/expired"),
+            new IsEqual<>(RsStatus.NOT_FOUND)
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldForgetLeastRecentlyUsedMiss() {
+        final Slice slice = new NegativeCacheSlice(this.origin, Duration.ofMinutes(1), 2, true);
+        for (final String path : new String[] {"/a", "/b", "/a", "/c", "/a", "/b"}) {
+            MatcherAssert.assertThat(
+                NegativeCacheSliceTest.status(slice, path),
+                new IsEqual<>(RsStatus.NOT_FOUND)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(4));
+    }
+
+    @Test
+    void shouldReplayOriginHeadersAndBody() {
+        final Slice slice = new NegativeCacheSlice(this.origin, Duration.ofMinutes(1), 100);
+        NegativeCacheSliceTest.status(slice, "/absent.pom");
+        final Response response = slice.response(
+            new RequestLine(RqMethod.GET, "/absent.pom").toString(),
+            Headers.EMPTY,
+            Content.EMPTY
+        );
+        MatcherAssert.assertThat(
+            "Origin headers are kept",
+            response,
+            new RsHasHeaders(
+                Matchers.hasItem(new Header("X-Origin", "maven"))
+            )
+        );
+        MatcherAssert.assertThat(
+            "Origin body is kept",
+            response,
+            new RsHasBody("not here", StandardCharsets.UTF_8)
+        );
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Authorization", "Cookie"})
+    void shouldNotRememberMissForCredentials(final String header) {
+        final Slice slice = new NegativeCacheSlice(this.origin, Duration.ofMinutes(1), 100);
+        for (int idx = 0; idx < 2; idx += 1) {
+            MatcherAssert.assertThat(
+                NegativeCacheSliceTest.status(
+                    slice, RqMethod.GET, "/secret.jar", new Headers.From(header, "token")
+                ),
+                new IsEqual<>(RsStatus.NOT_FOUND)
+            );
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldRememberMissByMethod() {
+        final Slice slice = new NegativeCacheSlice(this.origin, Duration.ofMinutes(1), 100);
+        NegativeCacheSliceTest.status(slice, RqMethod.HEAD, "/lib.jar", Headers.EMPTY);
+        NegativeCacheSliceTest.status(slice, "/lib.jar");
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldRememberMissOfHeadWhichBodyIsNotRead() {
+        final Slice slice = new NegativeCacheSlice(
+            (line, headers, body) -> {
+                this.requests.incrementAndGet();
+                return new RsWithStatus(RsStatus.NOT_FOUND);
+            },
+            Duration.ofMinutes(1),
+            100
+        );
+        for (int idx = 0; idx < 3; idx += 1) {
+            final AtomicReference<RsStatus> result = new AtomicReference<>();
+            slice.response(
+                new RequestLine(RqMethod.HEAD, "/lib.pom").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send(
+                (status, rsheaders, body) -> {
+                    result.set(status);
+                    return CompletableFuture.allOf();
+                }
+            ).toCompletableFuture().join();
+            MatcherAssert.assertThat(result.get(), new IsEqual<>(RsStatus.NOT_FOUND));
+        }
+        MatcherAssert.assertThat(this.requests.get(), new IsEqual<>(1));
+    }
+
+    /**
+     * Send GET request and read response body.
+     *
+     * @param slice Slice.
+     * @param path Request path.
+     * @return Response status.
+     */
+    private static RsStatus status(final Slice slice, final String path) {
+        return NegativeCacheSliceTest.status(slice, RqMethod.GET, path, Headers.EMPTY);
+    }
+
+    /**
+     * Send request and read response body.
+     *
+     * @param slice Slice.
+     * @param method Request method.
+     * @param path Request path.
+     * @param headers Request headers.
+     * @return Response status.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static RsStatus status(
+        final Slice slice, final RqMethod method, final String path, final Headers headers
+    ) {
+        final AtomicReference<RsStatus> result = new AtomicReference<>();
+        slice.response(
+            new RequestLine(method, path).toString(), headers, Content.EMPTY
+        ).send(
+            (status, rsheaders, body) -> {
+                result.set(status);
+                return new PublisherAs(new Content.From(body)).bytes().thenApply(bytes -> null);
+            }
+        ).toCompletableFuture().join();
+        return result.get();
+    }
+}
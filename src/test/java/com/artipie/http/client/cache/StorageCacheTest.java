@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StorageCache}.
+ *
+ * @since 0.4
+ */
+final class StorageCacheTest {
+
+    @Test
+    void shouldLoadSavedResponseFromNewInstance() {
+        final Storage storage = new InMemoryStorage();
+        final Instant stored = Instant.ofEpochMilli(1_625_133_600_000L);
+        final byte[] body = "persisted body".getBytes();
+        new StorageCache(storage).save(
+            "/repo/artifact.pom",
+            new Metadata(
+                RsStatus.NOT_FOUND,
+                new Headers.From(
+                    new Headers.From("Cache-Control", "max-age=60"), "Vary", "Accept"
+                ),
+                new Headers.From("Accept", "text/xml"),
+                stored
+            ),
+            Flowable.just(ByteBuffer.wrap(body))
+        ).toCompletableFuture().join();
+        final ResponseCache.Entry entry = new StorageCache(storage)
+            .load("/repo/artifact.pom").toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            "Status is restored",
+            entry.meta().status(),
+            new IsEqual<>(RsStatus.NOT_FOUND)
+        );
+        MatcherAssert.assertThat(
+            "Headers are restored",
+            entry.meta().headers(),
+            Matchers.contains(
+                new Header("Cache-Control", "max-age=60"),
+                new Header("Vary", "Accept")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Vary is restored",
+            entry.meta().matches(new Headers.From("Accept", "text/xml")),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Receiving time is restored",
+            entry.meta().stored(),
+            new IsEqual<>(stored)
+        );
+        MatcherAssert.assertThat(
+            "Body is restored",
+            new PublisherAs(new Content.From(entry.body())).bytes().toCompletableFuture().join(),
+            new IsEqual<>(body)
+        );
+    }
+
+    @Test
+    void shouldNotLoadAbsentResponse() {
+        MatcherAssert.assertThat(
+            new StorageCache(new InMemoryStorage()).load("/absent")
+                .toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    @Test
+    void shouldReplaceResponseWithMatchingHeadersAndBody() {
+        final Storage storage = new InMemoryStorage();
+        final StorageCache cache = new StorageCache(storage);
+        for (final String version : new String[] {"v1", "v2"}) {
+            cache.save(
+                "/index.json",
+                new Metadata(
+                    RsStatus.OK, new Headers.From("ETag", version), Headers.EMPTY, Instant.now()
+                ),
+                Flowable.just(ByteBuffer.wrap(version.getBytes()))
+            ).toCompletableFuture().join();
+        }
+        final ResponseCache.Entry entry = cache.load("/index.json")
+            .toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            "Headers are replaced",
+            entry.meta().headers(),
+            Matchers.contains(new Header("ETag", "v2"))
+        );
+        MatcherAssert.assertThat(
+            "Body is replaced",
+            new PublisherAs(new Content.From(entry.body())).bytes().toCompletableFuture().join(),
+            new IsEqual<>("v2".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Replaced body is deleted",
+            storage.list(Key.ROOT).join().size(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldDeleteResponse() {
+        final Storage storage = new InMemoryStorage();
+        final StorageCache cache = new StorageCache(storage);
+        cache.save(
+            "/deleted",
+            new Metadata(RsStatus.OK, Headers.EMPTY, Headers.EMPTY, Instant.now()),
+            Flowable.just(ByteBuffer.wrap("body".getBytes()))
+        ).toCompletableFuture().join();
+        cache.delete("/deleted").toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            storage.list(Key.ROOT).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldNotSaveResponseWithFailedBody() {
+        final Storage storage = new InMemoryStorage();
+        final StorageCache cache = new StorageCache(storage);
+        cache.save(
+            "/failed",
+            new Metadata(RsStatus.OK, Headers.EMPTY, Headers.EMPTY, Instant.now()),
+            Flowable.error(new IllegalStateException("Connection reset"))
+        ).handle((nothing, throwable) -> nothing).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            cache.load("/failed").toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldLoadNewBodyWhenReplacedWhileLoading() {
+        final Storage origin = new InMemoryStorage();
+        StorageCacheTest.save(new StorageCache(origin), "/replaced", "v1");
+        final AtomicBoolean replaced = new AtomicBoolean();
+        final Storage storage = new Storage.Wrap(origin) {
+            @Override
+            public CompletableFuture<Content> value(final Key key) {
+                if (key.string().contains("body.") && replaced.compareAndSet(false, true)) {
+                    StorageCacheTest.save(new StorageCache(origin), "/replaced", "v2");
+                }
+                return super.value(key);
+            }
+        };
+        final ResponseCache.Entry entry = new StorageCache(storage).load("/replaced")
+            .toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            "Headers of new response are loaded",
+            entry.meta().headers(),
+            Matchers.contains(new Header("ETag", "v2"))
+        );
+        MatcherAssert.assertThat(
+            "Body of new response is loaded",
+            new PublisherAs(new Content.From(entry.body())).bytes().toCompletableFuture().join(),
+            new IsEqual<>("v2".getBytes())
+        );
+    }
+
+    @Test
+    void shouldDeleteResponseWhichBodyIsMissing() {
+        final Storage storage = new InMemoryStorage();
+        final StorageCache cache = new StorageCache(storage);
+        StorageCacheTest.save(cache, "/missing", "v1");
+        for (final Key key : storage.list(Key.ROOT).join()) {
+            if (key.string().contains("body.")) {
+                storage.delete(key).join();
+            }
+        }
+        MatcherAssert.assertThat(
+            "Response is missing",
+            cache.load("/missing").toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Metadata is deleted",
+            storage.list(Key.ROOT).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Save response with ETag and body equal to version.
+     *
+     * @param cache Cache.
+     * @param key Cache key.
+     * @param version Response version.
+     */
+    private static void save(final StorageCache cache, final String key, final String version) {
+        cache.save(
+            key,
+            new Metadata(
+                RsStatus.OK, new Headers.From("ETag", version), Headers.EMPTY, Instant.now()
+            ),
+            Flowable.just(ByteBuffer.wrap(version.getBytes()))
+        ).toCompletableFuture().join();
+    }
+}
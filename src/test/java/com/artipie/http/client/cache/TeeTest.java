@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Tests for {@link Tee}.
+ *
+ * @since 0.4
+ */
+final class TeeTest {
+
+    @Test
+    void shouldPassWholeBodyToBothSides() {
+        final CompletableFuture<String> downstream = new CompletableFuture<>();
+        final CompletableFuture<String> sink = new CompletableFuture<>();
+        new Tee(TeeTest.origin()).send(
+            body -> TeeTest.read(body, downstream),
+            body -> TeeTest.read(body, sink)
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            String.format("%s %s", downstream.join(), sink.join()),
+            new IsEqual<>("one two three one two three")
+        );
+    }
+
+    @Test
+    void shouldFailSinkWhenDownstreamCancels() {
+        final CompletableFuture<String> sink = new CompletableFuture<>();
+        new Tee(TeeTest.origin()).send(
+            body -> Flowable.fromPublisher(body).take(1).ignoreElements()
+                .to(CompletableInterop.await()),
+            body -> TeeTest.read(body, sink)
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(sink.isCompletedExceptionally(), new IsEqual<>(true));
+    }
+
+    @Test
+    void shouldFailSinkWhenDownstreamDoesNotConsumeBody() {
+        final CompletableFuture<String> sink = new CompletableFuture<>();
+        new Tee(TeeTest.origin()).send(
+            body -> CompletableFuture.allOf(),
+            body -> TeeTest.read(body, sink)
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(sink.isCompletedExceptionally(), new IsEqual<>(true));
+    }
+
+    @Test
+    void shouldFailSinkWhenOriginFails() {
+        final CompletableFuture<String> sink = new CompletableFuture<>();
+        MatcherAssert.assertThat(
+            new Tee(
+                Flowable.concat(TeeTest.origin(), Flowable.error(new IllegalStateException()))
+            ).send(
+                body -> new PublisherAs(new Content.From(body)).bytes().thenAccept(bytes -> { }),
+                body -> TeeTest.read(body, sink)
+            ).handle((nothing, throwable) -> throwable != null).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(sink.isCompletedExceptionally(), new IsEqual<>(true));
+    }
+
+    @Test
+    void shouldPassBodyToDownstreamWhenSinkFails() {
+        final CompletableFuture<String> downstream = new CompletableFuture<>();
+        new Tee(TeeTest.origin()).send(
+            body -> TeeTest.read(body, downstream),
+            body -> Flowable.fromPublisher(body).take(1)
+                .concatWith(Flowable.error(new IllegalStateException("Disk full")))
+                .ignoreElements()
+                .to(CompletableInterop.await())
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(downstream.join(), new IsEqual<>("one two three"));
+    }
+
+    /**
+     * Origin body.
+     *
+     * @return Body publisher.
+     */
+    private static Flowable<ByteBuffer> origin() {
+        return Flowable.just("one", " two", " three")
+            .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Read body to string completing future with it or with failure.
+     *
+     * @param body Body publisher.
+     * @param result Future to complete.
+     * @return Completion of reading.
+     */
+    private static CompletionStage<Void> read(
+        final Publisher<ByteBuffer> body, final CompletableFuture<String> result
+    ) {
+        return new PublisherAs(new Content.From(body)).asciiString().handle(
+            (str, throwable) -> {
+                if (throwable == null) {
+                    result.complete(str);
+                } else {
+                    result.completeExceptionally(throwable);
+                }
+                return null;
+            }
+        );
+    }
+}
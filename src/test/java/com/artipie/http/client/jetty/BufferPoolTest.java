@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jetty.io.MappedByteBufferPool;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BufferPool}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class BufferPoolTest {
+
+    @Test
+    void shouldRetainMaxMemoryInTotal() {
+        final long max = 64 * 1024;
+        final MappedByteBufferPool mapped = BufferPool.mapped(
+            new Settings.Buffers.Simple(true, 2048, -1, max, 4096, 16_384)
+        );
+        final BufferPool pool = new BufferPool(mapped, true);
+        final List<ByteBuffer> buffers = new ArrayList<>(32);
+        for (int idx = 0; idx < 16; idx += 1) {
+            buffers.add(pool.acquire(8192, true));
+            buffers.add(pool.acquire(8192, false));
+        }
+        buffers.forEach(pool::release);
+        MatcherAssert.assertThat(
+            mapped.getHeapMemory() + mapped.getDirectMemory(),
+            Matchers.lessThanOrEqualTo(max)
+        );
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jetty.util.Promise;
+import org.eclipse.jetty.util.SocketAddressResolver;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CachingResolver}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class CachingResolverTest {
+
+    @Test
+    void shouldCacheResolvedAddresses() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        final CachingResolver resolver = new CachingResolver(
+            CachingResolverTest.resolving(lookups),
+            new Settings.Dns.Simple(60_000L, 0L)
+        );
+        final List<InetSocketAddress> first = CachingResolverTest.resolve(resolver, "a.com");
+        final List<InetSocketAddress> second = CachingResolverTest.resolve(resolver, "a.com");
+        MatcherAssert.assertThat(
+            "Addresses should be same",
+            second,
+            new IsEqual<>(first)
+        );
+        MatcherAssert.assertThat(
+            "Origin should be called once",
+            lookups.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldResolveAgainWhenExpired() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        final CachingResolver resolver = new CachingResolver(
+            CachingResolverTest.resolving(lookups),
+            new Settings.Dns.Simple(1L, 0L)
+        );
+        CachingResolverTest.resolve(resolver, "b.com");
+        Thread.sleep(10L);
+        CachingResolverTest.resolve(resolver, "b.com");
+        MatcherAssert.assertThat(
+            lookups.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldCacheFailures() {
+        final AtomicInteger lookups = new AtomicInteger();
+        final CachingResolver resolver = new CachingResolver(
+            (host, port, promise) -> {
+                lookups.incrementAndGet();
+                promise.failed(new UnknownHostException(host));
+            },
+            new Settings.Dns.Simple(60_000L, 60_000L)
+        );
+        for (int idx = 0; idx < 3; idx += 1) {
+            Assertions.assertThrows(
+                ExecutionException.class,
+                () -> CachingResolverTest.resolve(resolver, "unknown.com")
+            );
+        }
+        MatcherAssert.assertThat(
+            lookups.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldShareLookupInProgress() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        final CompletableFuture<Promise<List<InetSocketAddress>>> pending =
+            new CompletableFuture<>();
+        final CachingResolver resolver = new CachingResolver(
+            (host, port, promise) -> {
+                lookups.incrementAndGet();
+                pending.complete(promise);
+            },
+            new Settings.Dns.Simple(60_000L, 0L)
+        );
+        final Promise.Completable<List<InetSocketAddress>> first = new Promise.Completable<>();
+        final Promise.Completable<List<InetSocketAddress>> second = new Promise.Completable<>();
+        resolver.resolve("c.com", 80, first);
+        resolver.resolve("c.com", 80, second);
+        pending.get().succeeded(
+            Collections.singletonList(InetSocketAddress.createUnresolved("c.com", 80))
+        );
+        MatcherAssert.assertThat(
+            "Both resolutions should complete",
+            second.get(),
+            new IsEqual<>(first.get())
+        );
+        MatcherAssert.assertThat(
+            "Origin should be called once",
+            lookups.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    /**
+     * Resolve host name synchronously.
+     *
+     * @param resolver Resolver.
+     * @param host Host name.
+     * @return Addresses.
+     * @throws Exception In case of resolution failure.
+     */
+    private static List<InetSocketAddress> resolve(
+        final SocketAddressResolver resolver,
+        final String host
+    ) throws Exception {
+        final Promise.Completable<List<InetSocketAddress>> result = new Promise.Completable<>();
+        resolver.resolve(host, 80, result);
+        return result.get();
+    }
+
+    /**
+     * Resolver producing unresolved addresses and counting lookups.
+     *
+     * @param lookups Lookups counter.
+     * @return Resolver.
+     */
+    private static SocketAddressResolver resolving(final AtomicInteger lookups) {
+        return (host, port, promise) -> {
+            lookups.incrementAndGet();
+            promise.succeeded(
+                Collections.singletonList(InetSocketAddress.createUnresolved(host, port))
+            );
+        };
+    }
+}
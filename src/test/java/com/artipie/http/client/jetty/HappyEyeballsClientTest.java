@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.Headers;
+import com.artipie.http.client.HttpServer;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.StandardRs;
+import io.reactivex.Flowable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HappyEyeballsClient}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+final class HappyEyeballsClientTest {
+
+    /**
+     * Test server.
+     */
+    private final HttpServer server = new HttpServer();
+
+    @BeforeEach
+    void setUp() {
+        this.server.start();
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop();
+    }
+
+    @Test
+    void shouldInterleaveAddressFamilies() throws Exception {
+        final InetSocketAddress first = HappyEyeballsClientTest.address("::1");
+        final InetSocketAddress second = HappyEyeballsClientTest.address("::2");
+        final InetSocketAddress third = HappyEyeballsClientTest.address("127.0.0.1");
+        final InetSocketAddress fourth = HappyEyeballsClientTest.address("127.0.0.2");
+        MatcherAssert.assertThat(
+            HappyEyeballsClient.interleave(Arrays.asList(first, second, third, fourth)),
+            Matchers.contains(first, third, second, fourth)
+        );
+    }
+
+    @Test
+    void shouldConnectToReachableAddressWithoutWaitingForTimeout() throws Exception {
+        final int port = this.server.port();
+        final HappyEyeballsClient client = new HappyEyeballsClient(
+            new HttpClientTransportOverHTTP(),
+            new SslContextFactory.Client(),
+            100L
+        );
+        client.setSocketAddressResolver(
+            (host, prt, promise) -> promise.succeeded(
+                Arrays.asList(
+                    new InetSocketAddress("10.0.0.0", port),
+                    new InetSocketAddress("127.0.0.1", port)
+                )
+            )
+        );
+        client.setConnectTimeout(TimeUnit.SECONDS.toMillis(15));
+        client.start();
+        try {
+            final CompletableFuture<RsStatus> status = new CompletableFuture<>();
+            new JettyClientSlice(client, false, "upstream.example.com", port).response(
+                new RequestLine(RqMethod.GET, "/race").toString(),
+                Headers.EMPTY,
+                Flowable.empty()
+            ).send(
+                (rsstatus, rsheaders, rsbody) -> {
+                    status.complete(rsstatus);
+                    return CompletableFuture.allOf();
+                }
+            ).toCompletableFuture().get(2, TimeUnit.SECONDS);
+            MatcherAssert.assertThat(
+                status.get(),
+                new IsEqual<>(RsStatus.OK)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    /**
+     * Create socket address from IP literal.
+     *
+     * @param ip IP address literal.
+     * @return Socket address.
+     * @throws Exception In case of error.
+     */
+    private static InetSocketAddress address(final String ip) throws Exception {
+        return new InetSocketAddress(InetAddress.getByName(ip), 80);
+    }
+}
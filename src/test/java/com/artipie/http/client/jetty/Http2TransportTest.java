@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Http2Transport}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class Http2TransportTest {
+
+    @Test
+    void shouldApplyFlowControlWindows() {
+        final HTTP2Client client = new Http2Transport(
+            new Settings.Http2.Simple(4 * 1024 * 1024, 256 * 1024, 16, 0L),
+            2,
+            new SocketOptions(new Settings.Socket.Default())
+        ).getHTTP2Client();
+        MatcherAssert.assertThat(
+            "Wrong session receive window",
+            client.getInitialSessionRecvWindow(),
+            new IsEqual<>(4 * 1024 * 1024)
+        );
+        MatcherAssert.assertThat(
+            "Wrong stream receive window",
+            client.getInitialStreamRecvWindow(),
+            new IsEqual<>(256 * 1024)
+        );
+        MatcherAssert.assertThat(
+            "Wrong selectors",
+            client.getSelectors(),
+            new IsEqual<>(2)
+        );
+    }
+}
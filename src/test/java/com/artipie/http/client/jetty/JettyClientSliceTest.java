@@ -38,11 +38,15 @@ import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.rs.StandardRs;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
 import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -175,6 +179,107 @@ final class JettyClientSliceTest {
         );
     }
 
+    @Test
+    void shouldStreamBodyOfUnknownLength() {
+        final AtomicReference<byte[]> actual = new AtomicReference<>();
+        this.server.update(
+            (rqline, rqheaders, rqbody) -> new AsyncResponse(
+                new PublisherAs(rqbody).bytes().thenApply(
+                    bytes -> {
+                        actual.set(bytes);
+                        return StandardRs.EMPTY;
+                    }
+                )
+            )
+        );
+        this.slice.response(
+            new RequestLine(RqMethod.PUT, "/chunked").toString(),
+            Headers.EMPTY,
+            Flowable.just("one", "two", "three").map(str -> ByteBuffer.wrap(str.getBytes()))
+        ).send((status, headers, body) -> CompletableFuture.allOf()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            actual.get(),
+            new IsEqual<>("onetwothree".getBytes())
+        );
+    }
+
+    @Test
+    void shouldSendContentLengthFromHeaders() {
+        final byte[] content = "some data".getBytes();
+        final AtomicReference<Iterable<Map.Entry<String, String>>> actual = new AtomicReference<>();
+        this.server.update(
+            (rqline, rqheaders, rqbody) -> {
+                actual.set(new Headers.From(rqheaders));
+                return StandardRs.EMPTY;
+            }
+        );
+        this.slice.response(
+            new RequestLine(RqMethod.PUT, "/sized").toString(),
+            new Headers.From(new Header("Content-Length", String.valueOf(content.length))),
+            Flowable.just(ByteBuffer.wrap(content))
+        ).send((status, headers, body) -> CompletableFuture.allOf()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            StreamSupport.stream(actual.get().spliterator(), false)
+                .map(Header::new)
+                .map(Header::toString)
+                .collect(Collectors.toList()),
+            Matchers.allOf(
+                Matchers.hasItem(new StringContains(true, "Content-Length: 9")),
+                Matchers.not(Matchers.hasItem(new StringContains(true, "Transfer-Encoding")))
+            )
+        );
+    }
+
+    @Test
+    void shouldNotSendChunkedBodyWithBodilessRequest() {
+        final AtomicReference<Iterable<Map.Entry<String, String>>> actual = new AtomicReference<>();
+        this.server.update(
+            (rqline, rqheaders, rqbody) -> {
+                actual.set(new Headers.From(rqheaders));
+                return StandardRs.EMPTY;
+            }
+        );
+        this.slice.response(
+            new RequestLine(RqMethod.GET, "/metadata").toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send((status, headers, body) -> CompletableFuture.allOf()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            StreamSupport.stream(actual.get().spliterator(), false)
+                .map(Header::new)
+                .map(Header::toString)
+                .collect(Collectors.toList()),
+            Matchers.not(Matchers.hasItem(new StringContains(true, "Transfer-Encoding")))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Content-Length", "X-Artipie-Request-Timeout"})
+    void shouldFailResponseWithMalformedNumericHeader(final String name) {
+        final AtomicReference<String> received = new AtomicReference<>();
+        this.server.update(
+            (rqline, rqheaders, rqbody) -> {
+                received.set(rqline);
+                return StandardRs.EMPTY;
+            }
+        );
+        final CompletableFuture<Void> sent = this.slice.response(
+            new RequestLine(RqMethod.PUT, "/malformed").toString(),
+            new Headers.From(name, "ten"),
+            Flowable.just(ByteBuffer.wrap("data".getBytes()))
+        ).send((status, headers, body) -> CompletableFuture.allOf()).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Response fails",
+            sent.handle((nothing, throwable) -> throwable != null).join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Request is not sent",
+            received.get(),
+            new IsEqual<>(null)
+        );
+    }
+
     @Test
     void shouldReceiveStatus() {
         final RsStatus status = RsStatus.NOT_FOUND;
@@ -226,4 +331,50 @@ final class JettyClientSliceTest {
             new RsHasBody(data)
         );
     }
+
+    @Test
+    void shouldKeepBodyIntactForPrefetchingConsumerCopyingBuffers() {
+        // @checkstyle MagicNumberCheck (2 lines)
+        final int chunk = 64 * 1024;
+        final byte[] data = new byte[64 * chunk];
+        new Random(0).nextBytes(data);
+        this.server.update(
+            (rqline, rqheaders, rqbody) -> new RsWithBody(
+                Flowable.range(0, data.length / chunk)
+                    .map(idx -> ByteBuffer.wrap(data, idx * chunk, chunk))
+            )
+        );
+        final CompletableFuture<byte[]> received = new CompletableFuture<>();
+        this.slice.response(
+            new RequestLine(RqMethod.GET, "/blob").toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> Flowable.fromPublisher(body)
+                .map(
+                    buf -> {
+                        final byte[] bytes = new byte[buf.remaining()];
+                        buf.get(bytes);
+                        return bytes;
+                    }
+                )
+                // @checkstyle MagicNumberCheck (1 line)
+                .observeOn(Schedulers.io(), false, 128)
+                .reduce(
+                    new ByteArrayOutputStream(),
+                    (out, bytes) -> {
+                        out.write(bytes);
+                        return out;
+                    }
+                )
+                .map(ByteArrayOutputStream::toByteArray)
+                .doOnSuccess(received::complete)
+                .ignoreElement()
+                .to(CompletableInterop.await())
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            Arrays.equals(received.join(), data),
+            new IsEqual<>(true)
+        );
+    }
 }
@@ -26,6 +26,9 @@ package com.artipie.http.client.jetty;
 import com.artipie.asto.Content;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.client.FirstByteTimeout;
 import com.artipie.http.client.HttpServer;
 import com.artipie.http.client.Settings;
 import com.artipie.http.hm.RsHasBody;
@@ -36,19 +39,53 @@ import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
 import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
+import jnr.unixsocket.UnixServerSocketChannel;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.ConnectionPool;
+import org.eclipse.jetty.client.RandomConnectionPool;
+import org.eclipse.jetty.client.RoundRobinConnectionPool;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Tests for {@link JettyClientSlices}.
@@ -70,6 +107,7 @@ import org.junit.jupiter.api.Test;
  *  It should also be validated that client with `trustAll` setting disabled does not connect
  *  to such server.
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 @SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 final class JettyClientSlicesTest {
@@ -123,6 +161,59 @@ final class JettyClientSlicesTest {
         );
     }
 
+    @Test
+    void shouldSendRequestOverUnixSocket(@TempDir final Path dir) throws Exception {
+        final Path path = dir.resolve("sidecar.sock");
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        try (UnixServerSocketChannel sidecar = JettyClientSlicesTest.sidecar(path, lines)) {
+            final JettyClientSlices client = new JettyClientSlices();
+            try {
+                client.start();
+                MatcherAssert.assertThat(
+                    "Response is received over socket",
+                    client.unix(path.toString()).response(
+                        new RequestLine(RqMethod.GET, "/info").toString(),
+                        Headers.EMPTY,
+                        Content.EMPTY
+                    ),
+                    new RsHasBody("sidecar".getBytes())
+                );
+                MatcherAssert.assertThat(
+                    "Request is sent over socket",
+                    lines,
+                    Matchers.contains("GET /info HTTP/1.1")
+                );
+            } finally {
+                client.stop();
+            }
+        }
+    }
+
+    @Test
+    void shouldStartUnixSocketClientWithMainClient(@TempDir final Path dir) throws Exception {
+        final Path path = dir.resolve("restart.sock");
+        final List<String> lines = new CopyOnWriteArrayList<>();
+        try (UnixServerSocketChannel sidecar = JettyClientSlicesTest.sidecar(path, lines)) {
+            final JettyClientSlices client = new JettyClientSlices();
+            client.start();
+            client.stop();
+            final Slice slice = client.unix(path.toString());
+            try {
+                client.start();
+                MatcherAssert.assertThat(
+                    slice.response(
+                        new RequestLine(RqMethod.GET, "/restarted").toString(),
+                        Headers.EMPTY,
+                        Content.EMPTY
+                    ),
+                    new RsHasBody("sidecar".getBytes())
+                );
+            } finally {
+                client.stop();
+            }
+        }
+    }
+
     @Test
     void shouldSupportProxy() throws Exception {
         final byte[] response = "response from proxy".getBytes();
@@ -132,17 +223,514 @@ final class JettyClientSlicesTest {
             )
         );
         final JettyClientSlices client = new JettyClientSlices(
-            new Settings.WithProxy(
-                new Settings.Proxy.Simple(false, "localhost", this.server.port())
+            new Settings.WithProxy(
+                new Settings.Proxy.Simple(false, "localhost", this.server.port())
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("artipie.com").response(
+                    new RequestLine(RqMethod.GET, "/").toString(),
+                    Headers.EMPTY,
+                    Flowable.empty()
+                ),
+                new RsHasBody(response)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldNotAddContentType() throws Exception {
+        final AtomicReference<Iterable<Map.Entry<String, String>>> actual = new AtomicReference<>();
+        this.server.update(
+            (line, headers, body) -> {
+                actual.set(new Headers.From(headers));
+                return StandardRs.EMPTY;
+            }
+        );
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            client.http("localhost", this.server.port()).response(
+                new RequestLine(RqMethod.PUT, "/upload").toString(),
+                Headers.EMPTY,
+                Flowable.just(ByteBuffer.wrap("content".getBytes()))
+            ).send(
+                (status, headers, body) -> CompletableFuture.allOf()
+            ).toCompletableFuture().join();
+            MatcherAssert.assertThat(
+                StreamSupport.stream(actual.get().spliterator(), false)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList()),
+                Matchers.not(Matchers.hasItem(Matchers.equalToIgnoringCase("Content-Type")))
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldSendRequestsOverHttpTwo() throws Exception {
+        final byte[] response = "response over h2c".getBytes();
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                Flowable.just(ByteBuffer.wrap(response))
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithHttp2(
+                new Settings.WithTransport(Settings.Transport.HTTP_2),
+                new Settings.Http2.Simple(1024 * 1024, 512 * 1024, 16, 1_000L)
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/h2c").toString(),
+                    Headers.EMPTY,
+                    Flowable.empty()
+                ),
+                new RsHasBody(response)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldKeepHttpTwoConnectionWhilePingsAreAcknowledged() throws Exception {
+        final byte[] response = "late body".getBytes();
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                Flowable.timer(1, TimeUnit.SECONDS).map(tick -> ByteBuffer.wrap(response))
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithHttp2(
+                new Settings.WithTransport(Settings.Transport.HTTP_2),
+                new Settings.Http2.Simple(1024 * 1024, 512 * 1024, 16, 100L)
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/pinged").toString(),
+                    Headers.EMPTY,
+                    Flowable.empty()
+                ),
+                new RsHasBody(response)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldAbortHttpTwoConnectionWhenPingIsNotAcknowledged() throws Exception {
+        try (ServerSocket silent = new ServerSocket(0)) {
+            final List<Socket> accepted = new CopyOnWriteArrayList<>();
+            final Thread acceptor = new Thread(
+                () -> {
+                    try {
+                        while (!silent.isClosed()) {
+                            accepted.add(silent.accept());
+                        }
+                    } catch (final IOException ignored) {
+                        // @checkstyle MethodBodyCommentsCheck (1 line)
+                        // server socket is closed by test
+                    }
+                }
+            );
+            acceptor.setDaemon(true);
+            acceptor.start();
+            final JettyClientSlices client = new JettyClientSlices(
+                new Settings.WithHttp2(
+                    new Settings.WithTransport(Settings.Transport.HTTP_2),
+                    new Settings.Http2.Simple(1024 * 1024, 512 * 1024, 16, 200L)
+                )
+            );
+            try {
+                client.start();
+                final CompletionStage<Void> received = client.http(
+                    "localhost", silent.getLocalPort()
+                ).response(
+                    new RequestLine(RqMethod.GET, "/unanswered").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ).send(
+                    (status, headers, body) -> CompletableFuture.allOf()
+                );
+                Assertions.assertThrows(
+                    ExecutionException.class,
+                    () -> received.toCompletableFuture().get(5, TimeUnit.SECONDS)
+                );
+            } finally {
+                client.stop();
+                for (final Socket socket : accepted) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"16,16", "1000,100"})
+    void shouldLimitStreamsByLowerOfConfiguredAndAnnouncedByServer(
+        final int configured, final int expected
+    ) throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.OK);
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithHttp2(
+                new Settings.WithTransport(Settings.Transport.HTTP_2),
+                new Settings.Http2.Simple(1024 * 1024, 512 * 1024, configured, 0L)
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/streams").toString(),
+                    Headers.EMPTY,
+                    Flowable.empty()
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+            MatcherAssert.assertThat(
+                ((ConnectionPool.Multiplexable) client.pool(
+                    new URI(String.format("http://localhost:%d", this.server.port()))
+                )).getMaxMultiplex(),
+                new IsEqual<>(expected)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldRejectRequestsExceedingQueueLimit() throws Exception {
+        this.server.update((line, headers, body) -> connection -> new CompletableFuture<>());
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithMaxQueued(new Settings.WithMaxConnections(1), 1)
+        );
+        try {
+            client.start();
+            final Slice slice = client.http("localhost", this.server.port());
+            for (int idx = 0; idx < 2; idx += 1) {
+                slice.response(
+                    new RequestLine(RqMethod.GET, "/hang").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ).send((status, headers, body) -> CompletableFuture.allOf());
+            }
+            final CompletionStage<Void> rejected = slice.response(
+                new RequestLine(RqMethod.GET, "/rejected").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send((status, headers, body) -> CompletableFuture.allOf());
+            Assertions.assertThrows(
+                ExecutionException.class,
+                () -> rejected.toCompletableFuture().get(1, TimeUnit.SECONDS)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldLimitConnectionsPerHost() throws Exception {
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithHostMaxConnections(
+                new Settings.WithMaxConnections(8), "localhost", 3
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                "Host limit is applied to its destination",
+                ((AbstractConnectionPool) client.pool(URI.create("http://localhost:8080")))
+                    .getMaxConnectionCount(),
+                new IsEqual<>(3)
+            );
+            MatcherAssert.assertThat(
+                "Destination limit is applied to other hosts",
+                ((AbstractConnectionPool) client.pool(URI.create("http://127.0.0.1:8080")))
+                    .getMaxConnectionCount(),
+                new IsEqual<>(8)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        {
+            "LIFO,DuplexConnectionPool",
+            "ROUND_ROBIN,RoundRobinConnectionPool",
+            "RANDOM,RandomConnectionPool",
+            "MULTIPLEXED,MultiplexConnectionPool"
+        }
+    )
+    void shouldSendRequestsWithPoolStrategy(
+        final Settings.PoolStrategy strategy, final String type
+    ) throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithPoolStrategy(strategy)
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                "Request is sent",
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/pooled").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+            MatcherAssert.assertThat(
+                "Pool of strategy is used",
+                client.pool(
+                    URI.create(String.format("http://localhost:%d", this.server.port()))
+                ).getClass().getSimpleName(),
+                new IsEqual<>(type)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldUsePoolStrategyOfHost() throws Exception {
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithHostPoolStrategy(
+                new Settings.WithPoolStrategy(Settings.PoolStrategy.RANDOM),
+                "localhost",
+                Settings.PoolStrategy.ROUND_ROBIN
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                "Host strategy is applied to its destination",
+                client.pool(URI.create("http://localhost:8080")),
+                new IsInstanceOf(RoundRobinConnectionPool.class)
+            );
+            MatcherAssert.assertThat(
+                "Default strategy is applied to other hosts",
+                client.pool(URI.create("http://127.0.0.1:8080")),
+                new IsInstanceOf(RandomConnectionPool.class)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldWarmUpDestination() throws Exception {
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            final URI destination = URI.create(
+                String.format("http://localhost:%d", this.server.port())
+            );
+            client.warmUp(destination, 2).toCompletableFuture().get(1, TimeUnit.SECONDS);
+            MatcherAssert.assertThat(
+                ((AbstractConnectionPool) client.pool(destination)).getConnectionCount(),
+                new IsEqual<>(2)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldWarmUpDestinationsFromSettingsOnStart() throws Exception {
+        final URI destination = URI.create(
+            String.format("http://localhost:%d", this.server.port())
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithWarmUp(2, destination)
+        );
+        try {
+            client.start();
+            client.warmedUp().toCompletableFuture().get(1, TimeUnit.SECONDS);
+            MatcherAssert.assertThat(
+                ((AbstractConnectionPool) client.pool(destination)).getConnectionCount(),
+                new IsEqual<>(2)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"//localhost:8080", "ftp://localhost:21", "http:relative"})
+    void shouldFailWarmUpOfInvalidDestination(final String uri) throws Exception {
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            final ExecutionException error = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> client.warmUp(URI.create(uri), 1)
+                    .toCompletableFuture().get(1, TimeUnit.SECONDS)
+            );
+            MatcherAssert.assertThat(
+                error.getCause(),
+                new IsInstanceOf(IllegalArgumentException.class)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldUseSharedExecutor() throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithExecutor(executor)
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/shared").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+        } finally {
+            client.stop();
+        }
+        MatcherAssert.assertThat(
+            "Shared executor should not be stopped with client",
+            executor.isShutdown(),
+            new IsEqual<>(false)
+        );
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldNotManageSharedThreadPool() throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+        final QueuedThreadPool pool = new QueuedThreadPool();
+        final Settings settings = new Settings.WithExecutor(pool);
+        try {
+            for (int idx = 0; idx < 2; idx += 1) {
+                final JettyClientSlices client = new JettyClientSlices(settings);
+                try {
+                    client.start();
+                    MatcherAssert.assertThat(
+                        client.http("localhost", this.server.port()).response(
+                            new RequestLine(RqMethod.GET, "/shared-pool").toString(),
+                            Headers.EMPTY,
+                            Content.EMPTY
+                        ),
+                        new RsHasStatus(RsStatus.OK)
+                    );
+                } finally {
+                    client.stop();
+                }
+                MatcherAssert.assertThat(
+                    "Shared thread pool should not be stopped with client",
+                    pool.isRunning(),
+                    new IsEqual<>(true)
+                );
+            }
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    void shouldUseConfiguredThreadPool() throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithThreads(new Settings.Threads.Simple(2, 16, 0))
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/pool").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldDecodeGzipResponseWithConfiguredBuffers(final boolean direct) throws Exception {
+        final byte[] response = new byte[100 * 1024];
+        Arrays.fill(response, (byte) 'z');
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(response);
+        }
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                new RsWithHeaders(StandardRs.OK, "Content-Encoding", "gzip"),
+                gzip.toByteArray()
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithBuffers(
+                new Settings.Buffers.Simple(direct, 1024, 16, 1024 * 1024, 1024, 2048)
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/gzip").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasBody(response)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldReceiveBodyWithConfiguredBuffers(final boolean direct) throws Exception {
+        final byte[] response = new byte[100 * 1024];
+        Arrays.fill(response, (byte) 'a');
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                Flowable.just(ByteBuffer.wrap(response))
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithSelectors(
+                new Settings.WithBuffers(
+                    new Settings.Buffers.Simple(direct, 1024, 16, 1024 * 1024, 1024, 2048)
+                ),
+                2
             )
         );
         try {
             client.start();
             MatcherAssert.assertThat(
-                client.http("artipie.com").response(
-                    new RequestLine(RqMethod.GET, "/").toString(),
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/buffers").toString(),
                     Headers.EMPTY,
-                    Flowable.empty()
+                    Content.EMPTY
                 ),
                 new RsHasBody(response)
             );
@@ -151,6 +739,55 @@ final class JettyClientSlicesTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(Settings.Transport.class)
+    void shouldSendRequestsWithSocketOptions(final Settings.Transport transport)
+        throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithSocket(
+                new Settings.WithTransport(transport),
+                new Settings.Socket.Simple(true, true, 512 * 1024, 512 * 1024)
+            )
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/socket").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldSendRequestsWithCachingResolver() throws Exception {
+        this.server.update((line, headers, body) -> StandardRs.EMPTY);
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithDns(new Settings.Dns.Simple(60_000L, 1_000L))
+        );
+        try {
+            client.start();
+            for (int idx = 0; idx < 2; idx += 1) {
+                MatcherAssert.assertThat(
+                    client.http("localhost", this.server.port()).response(
+                        new RequestLine(RqMethod.GET, "/dns").toString(),
+                        Headers.EMPTY,
+                        Content.EMPTY
+                    ),
+                    new RsHasStatus(RsStatus.OK)
+                );
+            }
+        } finally {
+            client.stop();
+        }
+    }
+
     @Test
     void shouldNotFollowRedirectIfDisabled() throws Exception {
         final RsStatus status = RsStatus.TEMPORARY_REDIRECT;
@@ -318,4 +955,412 @@ final class JettyClientSlicesTest {
             client.stop();
         }
     }
+
+    @Test
+    void shouldAbortRequestExceedingRequestTimeout() throws Exception {
+        this.server.update((line, headers, body) -> connection -> new CompletableFuture<>());
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithRequestTimeout(500L)
+        );
+        try {
+            client.start();
+            final CompletionStage<Void> received = client.http(
+                "localhost",
+                this.server.port()
+            ).response(
+                new RequestLine(RqMethod.GET, "/request-timeout").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send(
+                (status, headers, body) -> CompletableFuture.allOf()
+            );
+            Assertions.assertThrows(
+                ExecutionException.class,
+                () -> received.toCompletableFuture().get(2, TimeUnit.SECONDS)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldAbortRequestWithoutFirstByteByHeaderTimeout() throws Exception {
+        final AtomicReference<String> forwarded = new AtomicReference<>();
+        this.server.update(
+            (line, headers, body) -> {
+                forwarded.set(
+                    StreamSupport.stream(headers.spliterator(), false)
+                        .map(Map.Entry::getKey)
+                        .filter(FirstByteTimeout.NAME::equalsIgnoreCase)
+                        .findFirst()
+                        .orElse("")
+                );
+                return connection -> new CompletableFuture<>();
+            }
+        );
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            final CompletionStage<Void> received = client.http(
+                "localhost",
+                this.server.port()
+            ).response(
+                new RequestLine(RqMethod.GET, "/first-byte-timeout").toString(),
+                new Headers.From(new FirstByteTimeout(500L)),
+                Content.EMPTY
+            ).send(
+                (status, headers, body) -> CompletableFuture.allOf()
+            );
+            Assertions.assertThrows(
+                ExecutionException.class,
+                () -> received.toCompletableFuture().get(2, TimeUnit.SECONDS)
+            );
+            MatcherAssert.assertThat(
+                "Timeout header should not be forwarded",
+                forwarded.get(),
+                new IsEqual<>("")
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldNotCountRequestUploadInFirstByteTimeout() throws Exception {
+        this.server.update(
+            (line, headers, body) -> new AsyncResponse(
+                Flowable.fromPublisher(body).ignoreElements().toSingleDefault(
+                    (Response) new RsWithStatus(RsStatus.OK)
+                ).to(SingleInterop.get())
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.PUT, "/slow-upload").toString(),
+                    new Headers.From(new FirstByteTimeout(500L)),
+                    Flowable.timer(1, TimeUnit.SECONDS)
+                        .map(tick -> ByteBuffer.wrap("uploaded".getBytes()))
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Settings.Transport.class)
+    void shouldAbortRequestWhenTlsHandshakeTimesOut(final Settings.Transport transport)
+        throws Exception {
+        final List<Socket> accepted = new CopyOnWriteArrayList<>();
+        try (ServerSocket silent = new ServerSocket(0)) {
+            final Thread acceptor = new Thread(
+                () -> {
+                    try {
+                        while (!silent.isClosed()) {
+                            accepted.add(silent.accept());
+                        }
+                    } catch (final IOException ignored) {
+                        // @checkstyle MethodBodyCommentsCheck (1 line)
+                        // server socket is closed by test
+                    }
+                }
+            );
+            acceptor.setDaemon(true);
+            acceptor.start();
+            final JettyClientSlices client = new JettyClientSlices(
+                new Settings.WithTlsHandshakeTimeout(
+                    new Settings.WithTransport(transport),
+                    500, TimeUnit.MILLISECONDS
+                )
+            );
+            try {
+                client.start();
+                final CompletionStage<Void> received = client.https(
+                    "localhost", silent.getLocalPort()
+                ).response(
+                    new RequestLine(RqMethod.GET, "/handshake-timeout").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ).send(
+                    (status, headers, body) -> CompletableFuture.allOf()
+                );
+                Assertions.assertThrows(
+                    ExecutionException.class,
+                    () -> received.toCompletableFuture().get(5, TimeUnit.SECONDS)
+                );
+                MatcherAssert.assertThat(
+                    "TCP connection is accepted, so handshake is started",
+                    accepted.isEmpty(),
+                    new IsEqual<>(false)
+                );
+            } finally {
+                client.stop();
+                for (final Socket socket : accepted) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldAbortExchangeWhenBodyIsCancelled() throws Exception {
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                Flowable.range(0, 10_000).map(num -> ByteBuffer.wrap(new byte[1024]))
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            client.http("localhost", this.server.port()).response(
+                new RequestLine(RqMethod.GET, "/cancelled").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send(
+                (status, headers, body) -> Flowable.fromPublisher(body)
+                    .take(1)
+                    .ignoreElements()
+                    .to(CompletableInterop.await())
+            ).toCompletableFuture().get(1, TimeUnit.SECONDS);
+            MatcherAssert.assertThat(
+                client.metrics().aborted(),
+                new IsEqual<>(1L)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldAbortExchangeWhenConnectionFails() throws Exception {
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                Flowable.range(0, 10_000).map(num -> ByteBuffer.wrap(new byte[1024]))
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            final CompletionStage<Void> received = client.http(
+                "localhost",
+                this.server.port()
+            ).response(
+                new RequestLine(RqMethod.GET, "/failed").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send(
+                (status, headers, body) -> {
+                    final CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("Disconnected"));
+                    return failed;
+                }
+            );
+            Assertions.assertThrows(
+                ExecutionException.class,
+                () -> received.toCompletableFuture().get(1, TimeUnit.SECONDS)
+            );
+            MatcherAssert.assertThat(
+                client.metrics().aborted(),
+                new IsEqual<>(1L)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldNotAbortCompletedExchange() throws Exception {
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(Flowable.just(ByteBuffer.wrap(new byte[16])))
+        );
+        final JettyClientSlices client = new JettyClientSlices();
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/completed").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+            MatcherAssert.assertThat(
+                client.metrics().aborted(),
+                new IsEqual<>(0L)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldDrainUnreadBodyWithinLimit() throws Exception {
+        this.server.update(
+            (line, headers, body) -> new RsWithBody(
+                new RsWithStatus(RsStatus.NOT_FOUND),
+                ByteBuffer.wrap(new byte[512])
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithDrainLimit(1024)
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/drained").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.NOT_FOUND)
+            );
+            MatcherAssert.assertThat(
+                "Body should be drained",
+                client.metrics().drained(),
+                new IsEqual<>(512L)
+            );
+            MatcherAssert.assertThat(
+                "Connection should not be discarded",
+                client.metrics().discarded(),
+                new IsEqual<>(0L)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldDiscardUnreadBodyExceedingLimit(final boolean known) throws Exception {
+        final int size = 1024 * 1024;
+        this.server.update(
+            (line, headers, body) -> {
+                final Response response;
+                if (known) {
+                    response = new RsWithBody(
+                        new RsWithStatus(RsStatus.NOT_FOUND),
+                        ByteBuffer.wrap(new byte[size])
+                    );
+                } else {
+                    response = new RsWithBody(
+                        new RsWithStatus(RsStatus.NOT_FOUND),
+                        Flowable.range(0, size / 1024).map(num -> ByteBuffer.wrap(new byte[1024]))
+                    );
+                }
+                return response;
+            }
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithDrainLimit(4096)
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/discarded").toString(),
+                    Headers.EMPTY,
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.NOT_FOUND)
+            );
+            MatcherAssert.assertThat(
+                "Connection should be discarded",
+                client.metrics().discarded(),
+                new IsEqual<>(1L)
+            );
+            MatcherAssert.assertThat(
+                "Body should not be drained completely",
+                client.metrics().drained(),
+                Matchers.lessThan((long) size)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    void shouldNotDiscardNotModifiedResponse() throws Exception {
+        this.server.update(
+            (line, headers, body) -> new RsWithHeaders(
+                new RsWithStatus(RsStatus.NOT_MODIFIED),
+                new Headers.From("Content-Length", "1048576")
+            )
+        );
+        final JettyClientSlices client = new JettyClientSlices(
+            new Settings.WithDrainLimit(1024)
+        );
+        try {
+            client.start();
+            MatcherAssert.assertThat(
+                client.http("localhost", this.server.port()).response(
+                    new RequestLine(RqMethod.GET, "/not-modified").toString(),
+                    new Headers.From("If-None-Match", "\"v1\""),
+                    Content.EMPTY
+                ),
+                new RsHasStatus(RsStatus.NOT_MODIFIED)
+            );
+            MatcherAssert.assertThat(
+                client.metrics().discarded(),
+                new IsEqual<>(0L)
+            );
+        } finally {
+            client.stop();
+        }
+    }
+
+    /**
+     * Start minimal HTTP server listening on Unix domain socket, which responds
+     * to every request with `sidecar` body and closes connection.
+     *
+     * @param path Socket file path.
+     * @param lines Received request lines.
+     * @return Server socket channel.
+     * @throws IOException If failed to bind socket.
+     */
+    private static UnixServerSocketChannel sidecar(final Path path, final List<String> lines)
+        throws IOException {
+        final UnixServerSocketChannel server = UnixServerSocketChannel.open();
+        server.socket().bind(new UnixSocketAddress(path.toFile()));
+        final Thread acceptor = new Thread(
+            () -> {
+                try {
+                    while (server.isOpen()) {
+                        try (UnixSocketChannel channel = server.accept()) {
+                            final ByteArrayOutputStream request = new ByteArrayOutputStream();
+                            final ByteBuffer buf = ByteBuffer.allocate(1024);
+                            while (!request.toString().contains("\r\n\r\n")
+                                && channel.read(buf) > 0) {
+                                buf.flip();
+                                request.write(buf.array(), 0, buf.limit());
+                                buf.clear();
+                            }
+                            lines.add(request.toString().split("\r\n")[0]);
+                            channel.write(
+                                ByteBuffer.wrap(
+                                    String.join(
+                                        "\r\n",
+                                        "HTTP/1.1 200 OK",
+                                        "Content-Length: 7",
+                                        "Connection: close",
+                                        "",
+                                        "sidecar"
+                                    ).getBytes()
+                                )
+                            );
+                        }
+                    }
+                } catch (final IOException ignored) {
+                    // @checkstyle MethodBodyCommentsCheck (1 line)
+                    // server socket is closed by test
+                }
+            }
+        );
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server;
+    }
 }
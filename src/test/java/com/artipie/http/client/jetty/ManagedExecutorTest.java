@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ManagedExecutor}.
+ *
+ * @since 0.4
+ */
+final class ManagedExecutorTest {
+
+    @Test
+    void shouldShutDownExecutorServiceOnStop() throws Exception {
+        final AtomicReference<ExecutorService> created = new AtomicReference<>();
+        final ManagedExecutor executor = new ManagedExecutor(
+            () -> {
+                created.set(Executors.newCachedThreadPool());
+                return created.get();
+            }
+        );
+        executor.start();
+        final CompletableFuture<Boolean> executed = new CompletableFuture<>();
+        executor.execute(() -> executed.complete(true));
+        MatcherAssert.assertThat(executed.get(1, TimeUnit.MINUTES), new IsEqual<>(true));
+        executor.stop();
+        MatcherAssert.assertThat(created.get().isShutdown(), new IsEqual<>(true));
+        Assertions.assertThrows(
+            RejectedExecutionException.class,
+            () -> executor.execute(() -> { })
+        );
+    }
+
+    @Test
+    void shouldCreateNewExecutorServiceOnRestart() throws Exception {
+        final AtomicReference<ExecutorService> created = new AtomicReference<>();
+        final ManagedExecutor executor = new ManagedExecutor(
+            () -> {
+                created.set(Executors.newCachedThreadPool());
+                return created.get();
+            }
+        );
+        executor.start();
+        executor.stop();
+        executor.start();
+        try {
+            MatcherAssert.assertThat(created.get().isShutdown(), new IsEqual<>(false));
+        } finally {
+            executor.stop();
+        }
+    }
+}
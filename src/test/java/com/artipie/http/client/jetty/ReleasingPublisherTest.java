@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.jetty.reactive.client.ContentChunk;
+import org.eclipse.jetty.util.Callback;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ReleasingPublisher}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class ReleasingPublisherTest {
+
+    @Test
+    void shouldHoldChunkUntilNextItemIsRequested() {
+        final CompletableFuture<Void> released = new CompletableFuture<>();
+        final TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>(1);
+        new ReleasingPublisher(
+            Flowable.just(new ContentChunk(ByteBuffer.allocate(1), Callback.from(released)))
+                .concatWith(Flowable.never())
+        ).subscribe(subscriber);
+        MatcherAssert.assertThat(
+            "Chunk should be held while subscriber owns its buffer",
+            released.isDone(),
+            new IsEqual<>(false)
+        );
+        subscriber.request(1);
+        MatcherAssert.assertThat(
+            "Chunk should be released when next item is requested",
+            released.isDone(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldReleaseChunkWhenDemandIsOutstanding() {
+        final CompletableFuture<Void> released = new CompletableFuture<>();
+        new ReleasingPublisher(
+            Flowable.just(new ContentChunk(ByteBuffer.allocate(1), Callback.from(released)))
+                .concatWith(Flowable.never())
+        ).subscribe(new TestSubscriber<>(2));
+        MatcherAssert.assertThat(released.isDone(), new IsEqual<>(true));
+    }
+
+    @Test
+    void shouldReleaseChunkOnCancel() {
+        final CompletableFuture<Void> released = new CompletableFuture<>();
+        final TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>(1);
+        new ReleasingPublisher(
+            Flowable.just(new ContentChunk(ByteBuffer.allocate(1), Callback.from(released)))
+                .concatWith(Flowable.never())
+        ).subscribe(subscriber);
+        subscriber.cancel();
+        MatcherAssert.assertThat(released.isDone(), new IsEqual<>(true));
+    }
+
+    @Test
+    void shouldPassChunkBufferAsIs() {
+        final ByteBuffer network = ByteBuffer.allocate(3);
+        final TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>();
+        new ReleasingPublisher(
+            Flowable.just(new ContentChunk(network, Callback.NOOP))
+        ).subscribe(subscriber);
+        MatcherAssert.assertThat(
+            subscriber.values().get(0),
+            Matchers.sameInstance(network)
+        );
+    }
+
+    @Test
+    void shouldNotAllocateBufferPerChunk() {
+        final int size = 16 * 1024;
+        final int chunks = 1000;
+        final ByteBuffer network = ByteBuffer.allocate(size);
+        ReleasingPublisherTest.consume(network, chunks);
+        final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(thread);
+        ReleasingPublisherTest.consume(network, chunks);
+        final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        MatcherAssert.assertThat(
+            "Allocation per chunk should be small constant overhead without buffer copy",
+            allocated / chunks,
+            Matchers.lessThan(256L)
+        );
+    }
+
+    /**
+     * Pass chunks through publisher consuming them.
+     *
+     * @param network Network buffer chunks are sliced from.
+     * @param chunks Number of chunks.
+     */
+    private static void consume(final ByteBuffer network, final int chunks) {
+        final ContentChunk chunk = new ContentChunk(network, Callback.NOOP);
+        Flowable.fromPublisher(
+            new ReleasingPublisher(
+                Flowable.range(0, chunks).map(
+                    idx -> {
+                        network.clear();
+                        return chunk;
+                    }
+                )
+            )
+        ).subscribe(buffer -> buffer.position(buffer.limit()));
+    }
+}
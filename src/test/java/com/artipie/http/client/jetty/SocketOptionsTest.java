@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.http.client.jetty;
+
+import com.artipie.http.client.Settings;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SocketOptions}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class SocketOptionsTest {
+
+    @Test
+    void shouldApplyOptions() throws Exception {
+        try (SocketChannel channel = SocketChannel.open()) {
+            new SocketOptions(
+                new Settings.Socket.Simple(false, true, 256 * 1024, 128 * 1024)
+            ).apply(channel);
+            MatcherAssert.assertThat(
+                "Wrong TCP_NODELAY",
+                channel.getOption(StandardSocketOptions.TCP_NODELAY),
+                new IsEqual<>(false)
+            );
+            MatcherAssert.assertThat(
+                "Wrong SO_KEEPALIVE",
+                channel.getOption(StandardSocketOptions.SO_KEEPALIVE),
+                new IsEqual<>(true)
+            );
+            MatcherAssert.assertThat(
+                "Wrong SO_RCVBUF",
+                channel.getOption(StandardSocketOptions.SO_RCVBUF),
+                Matchers.greaterThan(0)
+            );
+        }
+    }
+
+    @Test
+    void shouldKeepSystemBufferSizesByDefault() throws Exception {
+        try (SocketChannel channel = SocketChannel.open()) {
+            final int rcvbuf = channel.getOption(StandardSocketOptions.SO_RCVBUF);
+            final int sndbuf = channel.getOption(StandardSocketOptions.SO_SNDBUF);
+            new SocketOptions(new Settings.Socket.Default()).apply(channel);
+            MatcherAssert.assertThat(
+                "Wrong SO_RCVBUF",
+                channel.getOption(StandardSocketOptions.SO_RCVBUF),
+                new IsEqual<>(rcvbuf)
+            );
+            MatcherAssert.assertThat(
+                "Wrong SO_SNDBUF",
+                channel.getOption(StandardSocketOptions.SO_SNDBUF),
+                new IsEqual<>(sndbuf)
+            );
+        }
+    }
+}